@@ -0,0 +1,25 @@
+// k6 load test for the read endpoints; run once per execution mode and compare.
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=2m loadtest/details.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        details: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 400),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const page = http.get(`${BASE_URL}/api/v1/ministries/details/page?size=100`, { tags: { name: 'details-page' } });
+    check(page, { 'page 200': (r) => r.status === 200 });
+
+    const full = http.get(`${BASE_URL}/api/v1/ministries/details`, { tags: { name: 'details' } });
+    check(full, { 'details 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,269 @@
+package com.project.ministry_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.client.MemberServiceFeignClient;
+import com.project.ministry_service.common.enums.MinistryType;
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.common.util.CriteriaJson;
+import com.project.ministry_service.common.util.MinistryMapper;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.ministry.application.MinistryReadJdbcService;
+import com.project.ministry_service.ministry.domain.model.Ministry;
+import com.project.ministry_service.ministry.domain.model.MinistryMember;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import com.project.ministry_service.ministry.domain.repository.MinistryRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Synthetic ministry tree + assignments + member-service profiles, and in-memory stand-ins for
+ * the repositories and the Feign client so the service code runs without Postgres or HTTP.
+ * Every ministry gets membersPerMinistry distinct members (~20% committee) drawn from a pool
+ * half the size of the assignment count, so members sit in several ministries like in prod.
+ */
+final class BenchmarkData {
+
+    private static final RoleName[] ROLES = RoleName.values();
+    private static final MinistryType[] TYPES = MinistryType.values();
+    private static final String[] GENDERS = {"MALE", "FEMALE"};
+    private static final String[] MARITAL = {"SINGLE", "MARRIED", "WIDOWED"};
+    private static final int FAN_OUT = 4;
+
+    final List<Ministry> ministries;           // sorted by id, like the keyset queries
+    final List<MinistryMember> assignments;
+    final Map<UUID, List<MinistryMember>> assignmentsByMinistry;
+    final Map<String, MemberDto> members;
+
+    private BenchmarkData(List<Ministry> ministries, List<MinistryMember> assignments, Map<String, MemberDto> members) {
+        this.ministries = ministries;
+        this.assignments = assignments;
+        this.members = members;
+        Map<UUID, List<MinistryMember>> byMinistry = new HashMap<>();
+        for (MinistryMember mm : assignments) {
+            byMinistry.computeIfAbsent(mm.getMinistryId(), k -> new ArrayList<>()).add(mm);
+        }
+        this.assignmentsByMinistry = byMinistry;
+    }
+
+    static BenchmarkData generate(int assignmentCount, int membersPerMinistry, long seed) {
+        Random random = new Random(seed);
+        int ministryCount = Math.max(1, assignmentCount / membersPerMinistry);
+        List<Ministry> ministries = ministries(ministryCount, random);
+
+        int poolSize = Math.max(membersPerMinistry, assignmentCount / 2);
+        Map<String, MemberDto> members = new HashMap<>(poolSize * 2);
+        List<String> memberIds = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            MemberDto m = member(new UUID(random.nextLong(), random.nextLong()).toString(), i, random);
+            members.put(m.getId(), m);
+            memberIds.add(m.getId());
+        }
+
+        List<MinistryMember> assignments = new ArrayList<>(ministryCount * membersPerMinistry);
+        for (Ministry ministry : ministries) {
+            Set<String> picked = new HashSet<>();
+            while (picked.size() < membersPerMinistry) picked.add(memberIds.get(random.nextInt(poolSize)));
+            for (String memberId : picked) {
+                MinistryMember mm = new MinistryMember();
+                mm.setId(new UUID(random.nextLong(), random.nextLong()));
+                mm.setMinistryId(ministry.getId());
+                mm.setMemberId(memberId);
+                mm.setCommittee(random.nextInt(5) == 0);
+                mm.setRole(ROLES[random.nextInt(ROLES.length)]);
+                assignments.add(mm);
+            }
+        }
+        return new BenchmarkData(ministries, assignments, members);
+    }
+
+    static List<Ministry> ministries(int count, Random random) {
+        List<Ministry> ministries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ministry m = new Ministry();
+            m.setId(new UUID(random.nextLong(), random.nextLong()));
+            m.setName("Ministry " + i);
+            m.setType(TYPES[i % TYPES.length]);
+            m.setEstablishedDate(LocalDate.of(1990, 1, 1).plusDays(i % 10_000));
+            m.setTermStart(LocalDate.of(2024, 1, 1));
+            m.setTermEnd(LocalDate.of(2026, 12, 31));
+            // complete FAN_OUT-ary tree in creation order
+            m.setParentId(i == 0 ? null : ministries.get((i - 1) / FAN_OUT).getId());
+            Criteria criteria = new Criteria();
+            criteria.setGender(i % 3 == 0 ? "ALL" : GENDERS[i % 2]);
+            criteria.setAgeGroup(i % 2 == 0 ? "ALL" : "ADULT");
+            criteria.setMaritalStatus("ALL");
+            m.setCriteria(criteria);
+            ministries.add(m);
+        }
+        ministries.sort(Comparator.comparing(Ministry::getId));
+        return ministries;
+    }
+
+    private static MemberDto member(String id, int i, Random random) {
+        String first = "First" + i;
+        String last = "Last" + i;
+        return MemberDto.builder()
+                .id(id)
+                .firstName(first)
+                .lastName(last)
+                .name(first + " " + last)
+                .gender(GENDERS[random.nextInt(GENDERS.length)])
+                .age(5 + random.nextInt(80))
+                .maritalStatus(MARITAL[random.nextInt(MARITAL.length)])
+                .photoUrl("https://cdn.example.org/members/" + id + ".jpg")
+                .phone("+1555" + (1_000_000 + i))
+                .build();
+    }
+
+    /**
+     * The members as member-service returns them (nested personalInfo / contact, pictureUrl).
+     */
+    byte[] memberServicePayload(ObjectMapper objectMapper) throws Exception {
+        List<Map<String, Object>> payload = new ArrayList<>(members.size());
+        for (MemberDto m : members.values()) {
+            Map<String, Object> personalInfo = new LinkedHashMap<>();
+            personalInfo.put("firstName", m.getFirstName());
+            personalInfo.put("lastName", m.getLastName());
+            personalInfo.put("gender", m.getGender());
+            personalInfo.put("maritalStatus", m.getMaritalStatus());
+            personalInfo.put("birthdate", LocalDate.of(2025 - m.getAge(), 1 + m.getAge() % 12, 1 + m.getAge() % 28).toString());
+
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("id", m.getId());
+            json.put("pictureUrl", m.getPhotoUrl());
+            json.put("personalInfo", personalInfo);
+            json.put("contact", Map.of("mobilePhoneNumber", m.getPhone(), "email", m.getFirstName() + "@example.org"));
+            json.put("status", "ACTIVE");
+            payload.add(json);
+        }
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    // ---------------------------------------------------------------- stand-ins
+
+    MinistryRepository ministryRepository() {
+        return stub(MinistryRepository.class, Map.of(
+                "findAll", args -> ministries,
+                "findAllByOrderByIdAsc", args -> page(null, (Limit) args[0]),
+                "findAllByIdGreaterThanOrderByIdAsc", args -> page((UUID) args[0], (Limit) args[1])
+        ));
+    }
+
+    /**
+     * Stand-in for the JDBC read path: fresh DTOs per call (as the row mapper builds them),
+     * with the criteria left as json text until it is read.
+     */
+    MinistryReadJdbcService ministryReadService() {
+        Map<UUID, String> criteriaJson = new HashMap<>(ministries.size() * 2);
+        for (Ministry m : ministries) criteriaJson.put(m.getId(), CriteriaJson.toJson(m.getCriteria()));
+        return new MinistryReadJdbcService(null) {
+            @Override
+            public List<MinistryDto> findAll(MinistryQuery query) {
+                return toRows(ministries);
+            }
+
+            @Override
+            public List<MinistryDto> findPageAfter(MinistryQuery query, String after, int size) {
+                return toRows(page(after != null ? UUID.fromString(after) : null, Limit.of(size)));
+            }
+
+            @Override
+            public List<AssignmentRow> findAssignments(Collection<UUID> ministryIds) {
+                List<AssignmentRow> rows = new ArrayList<>();
+                for (UUID id : ministryIds) {
+                    for (MinistryMember mm : assignmentsByMinistry.getOrDefault(id, List.of())) {
+                        rows.add(new AssignmentRow(mm.getMinistryId(), mm.getMemberId(), mm.getRole(), mm.isCommittee()));
+                    }
+                }
+                return rows;
+            }
+
+            private List<MinistryDto> toRows(List<Ministry> page) {
+                List<MinistryDto> rows = new ArrayList<>(page.size());
+                for (Ministry m : page) {
+                    MinistryDto dto = MinistryMapper.toDto(m);
+                    String json = criteriaJson.get(m.getId());
+                    dto.setConfigurationSource(() -> CriteriaJson.fromJson(json));
+                    rows.add(dto);
+                }
+                return rows;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    MemberServiceFeignClient memberServiceFeignClient() {
+        return stub(MemberServiceFeignClient.class, Map.of(
+                "getMembersByIds", args -> {
+                    List<MemberDto> found = new ArrayList<>();
+                    for (String id : (Set<String>) args[0]) {
+                        MemberDto m = members.get(id);
+                        if (m != null) found.add(m);
+                    }
+                    return found;
+                }
+        ));
+    }
+
+    /**
+     * Transaction manager with nothing to manage: the stand-ins above are not transactional.
+     */
+    static PlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+
+    private List<Ministry> page(UUID after, Limit limit) {
+        int from = 0;
+        if (after != null) {
+            int lo = 0, hi = ministries.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ministries.get(mid).getId().compareTo(after) <= 0) lo = mid + 1;
+                else hi = mid;
+            }
+            from = lo;
+        }
+        return ministries.subList(from, Math.min(ministries.size(), from + limit.max()));
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> impl = methods.get(method.getName());
+            if (impl != null) return impl.apply(args);
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,377 @@
+package com.project.ministry_service.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.ministry_service.ministry.application.HierarchyJdbcService;
+import com.project.ministry_service.ministry.application.HighestRoleIndex;
+import com.project.ministry_service.ministry.application.MinistryDatasetVersion;
+import com.project.ministry_service.ministry.application.MinistryHierarchyIndex;
+import com.project.ministry_service.ministry.domain.repository.MinistryHierarchyRepository;
+import io.micrometer.observation.ObservationRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Closure-table benchmark against a real Postgres: builds a ministry tree of the given depth and
+ * fan-out, then times HierarchyJdbcService inserts, moves and full rebuilds and the
+ * findDescentWithMinOfMaxDepth query, and captures one EXPLAIN (ANALYZE, BUFFERS) plan per
+ * operation through auto_explain. Writes a JSON report (percentiles + plans) for comparing releases.
+ * <p>
+ * Runs on an embedded Postgres by default; pass jdbcUrl/user/password to use a local server
+ * instead (an empty database: the harness refuses to touch one that already has ministries).
+ * Arguments are key=value: depth, fanOut, iterations, rebuildIterations, warmup, descentIds,
+ * seed, report, jdbcUrl, user, password.
+ * <p>
+ * Timings cover the service call inside its transaction; the commit and the after-commit
+ * in-memory index maintenance are not included.
+ */
+public final class HierarchyDbBenchmark {
+
+    private final Map<String, String> args;
+    private final Random random;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private PlanCapturingJdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate jdbc;
+    private TransactionTemplate tx;
+    private MinistryHierarchyIndex hierarchyIndex;
+    private HierarchyJdbcService hierarchyService;
+    private final List<UUID> nodes = new ArrayList<>();
+    private int nameSeq;
+
+    private HierarchyDbBenchmark(Map<String, String> args) {
+        this.args = args;
+        this.random = new Random(Long.parseLong(args.getOrDefault("seed", "42")));
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = new HashMap<>();
+        for (String a : argv) {
+            int eq = a.indexOf('=');
+            if (eq < 1) throw new IllegalArgumentException("Expected key=value, got " + a);
+            args.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        new HierarchyDbBenchmark(args).run();
+    }
+
+    private int intArg(String key, int defaultValue) {
+        return Integer.parseInt(args.getOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    private void run() throws Exception {
+        int depth = intArg("depth", 6);
+        int fanOut = intArg("fanOut", 4);
+        int iterations = intArg("iterations", 100);
+        int rebuildIterations = intArg("rebuildIterations", 5);
+        int warmup = intArg("warmup", 10);
+        int descentIds = intArg("descentIds", 50);
+        Path reportPath = Path.of(args.getOrDefault("report", "target/hierarchy-benchmark.json"));
+
+        EmbeddedPostgres embedded = null;
+        DataSource target;
+        if (args.containsKey("jdbcUrl")) {
+            target = new DriverManagerDataSource(args.get("jdbcUrl"), args.get("user"), args.get("password"));
+        } else {
+            embedded = EmbeddedPostgres.builder().start();
+            target = embedded.getPostgresDatabase();
+        }
+        try {
+            Flyway.configure().dataSource(target).locations("classpath:db/migration").load().migrate();
+
+            // one physical connection for the whole run: no connect cost in the timings, and the
+            // auto_explain session settings stick
+            SingleConnectionDataSource ds = new SingleConnectionDataSource(target.getConnection(), true);
+            jdbcTemplate = new PlanCapturingJdbcTemplate(ds);
+            jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+            tx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+            hierarchyIndex = new MinistryHierarchyIndex(jdbc);
+            hierarchyService = new HierarchyJdbcService(jdbc, hierarchyIndex, new HighestRoleIndex(jdbc, hierarchyIndex),
+                    ObservationRegistry.NOOP, new MinistryDatasetVersion(jdbc));
+
+            Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM ministries", Long.class);
+            if (existing != null && existing > 0) {
+                throw new IllegalStateException("Target database already has " + existing + " ministries; use an empty one");
+            }
+            boolean plans = enableAutoExplain();
+
+            long buildStart = System.nanoTime();
+            buildTree(depth, fanOut);
+            inTransaction(() -> hierarchyService.rebuildFullHierarchy());
+            long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+            hierarchyIndex.reload();
+            System.out.printf("tree: %d nodes (depth %d, fan-out %d) built in %d ms%n", nodes.size(), depth, fanOut, buildMillis);
+
+            String descentSql = MinistryHierarchyRepository.class
+                    .getMethod("findDescentWithMinOfMaxDepth", Set.class)
+                    .getAnnotation(Query.class).value();
+
+            Map<String, Operation> operations = new LinkedHashMap<>();
+            operations.put("insertSelfAndParentAncestors", this::insertLeaf);
+            operations.put("moveSubtree", this::moveRandomSubtree);
+            operations.put("findDescentWithMinOfMaxDepth", () -> descent(descentSql, descentIds));
+            operations.put("rebuildFullHierarchy", () -> inTransaction(() -> hierarchyService.rebuildFullHierarchy()));
+
+            ObjectNode results = objectMapper.createObjectNode();
+            for (Map.Entry<String, Operation> op : operations.entrySet()) {
+                int n = op.getKey().equals("rebuildFullHierarchy") ? rebuildIterations : iterations;
+                for (int i = 0; i < Math.min(warmup, n); i++) op.getValue().run();
+                long[] samples = new long[n];
+                for (int i = 0; i < n; i++) samples[i] = op.getValue().run();
+
+                ObjectNode result = summarize(samples);
+                if (plans) {
+                    jdbcTemplate.startCapture();
+                    op.getValue().run();
+                    result.set("plans", jdbcTemplate.stopCapture());
+                }
+                results.set(op.getKey(), result);
+                System.out.printf("%-32s p50 %8.3f ms  p95 %8.3f ms  p99 %8.3f ms%n", op.getKey(),
+                        result.get("p50Ms").asDouble(), result.get("p95Ms").asDouble(), result.get("p99Ms").asDouble());
+            }
+
+            ObjectNode report = objectMapper.createObjectNode();
+            report.put("generatedAt", Instant.now().toString());
+            report.put("postgresVersion", jdbcTemplate.queryForObject("SHOW server_version", String.class));
+            report.put("javaVersion", System.getProperty("java.version"));
+            ObjectNode config = report.putObject("config");
+            config.put("depth", depth);
+            config.put("fanOut", fanOut);
+            config.put("initialNodes", countNodes(depth, fanOut));
+            config.put("finalNodes", nodes.size());
+            config.put("closureRows", jdbcTemplate.queryForObject("SELECT count(*) FROM ministry_hierarchy", Long.class));
+            config.put("iterations", iterations);
+            config.put("rebuildIterations", rebuildIterations);
+            config.put("warmup", warmup);
+            config.put("descentIds", descentIds);
+            config.put("embedded", embedded != null);
+            config.put("plansCaptured", plans);
+            report.put("treeBuildMs", buildMillis);
+            report.set("operations", results);
+
+            if (reportPath.getParent() != null) Files.createDirectories(reportPath.getParent());
+            objectMapper.writeValue(reportPath.toFile(), report);
+            System.out.println("report: " + reportPath.toAbsolutePath());
+            ds.destroy();
+        } finally {
+            if (embedded != null) embedded.close();
+        }
+    }
+
+    // ---------------------------------------------------------------- operations
+
+    @FunctionalInterface
+    private interface Operation {
+        /** @return elapsed nanos */
+        long run();
+    }
+
+    private long insertLeaf() {
+        UUID parent = nodes.get(random.nextInt(nodes.size()));
+        UUID id = UUID.randomUUID();
+        long elapsed = inTransaction(() -> {
+            insertMinistry(id, parent);
+            long start = System.nanoTime();
+            hierarchyService.insertSelfAndParentAncestors(id, parent);
+            return System.nanoTime() - start;
+        });
+        nodes.add(id);
+        return elapsed;
+    }
+
+    private long moveRandomSubtree() {
+        UUID moved;
+        UUID newParent;
+        do {
+            moved = nodes.get(random.nextInt(nodes.size()));
+            newParent = nodes.get(random.nextInt(nodes.size()));
+        } while (hierarchyIndex.isAncestor(moved, newParent) || newParent.equals(hierarchyIndex.parent(moved)));
+        UUID m = moved;
+        UUID p = newParent;
+        return inTransaction(() -> {
+            jdbcTemplate.update("UPDATE ministries SET parent_id = ? WHERE id = ?", p, m);
+            long start = System.nanoTime();
+            hierarchyService.moveSubtree(m, p);
+            return System.nanoTime() - start;
+        });
+    }
+
+    private long descent(String sql, int sampleSize) {
+        Set<UUID> ids = new HashSet<>();
+        while (ids.size() < Math.min(sampleSize, nodes.size())) ids.add(nodes.get(random.nextInt(nodes.size())));
+        return inTransaction(() -> {
+            long start = System.nanoTime();
+            jdbc.queryForList(sql, new MapSqlParameterSource("descendantIds", ids));
+            return System.nanoTime() - start;
+        });
+    }
+
+    private long inTransaction(Runnable work) {
+        return inTransaction(() -> {
+            long start = System.nanoTime();
+            work.run();
+            return System.nanoTime() - start;
+        });
+    }
+
+    private long inTransaction(Supplier<Long> timedWork) {
+        Long elapsed = tx.execute(status -> timedWork.get());
+        return elapsed != null ? elapsed : 0L;
+    }
+
+    // ---------------------------------------------------------------- setup
+
+    private void buildTree(int depth, int fanOut) {
+        List<UUID> level = List.of(UUID.randomUUID());
+        List<Object[]> batch = new ArrayList<>();
+        batch.add(new Object[]{level.get(0), "bench-" + nameSeq++, null});
+        for (int d = 1; d <= depth; d++) {
+            List<UUID> next = new ArrayList<>(level.size() * fanOut);
+            for (UUID parent : level) {
+                for (int c = 0; c < fanOut; c++) {
+                    UUID id = UUID.randomUUID();
+                    next.add(id);
+                    batch.add(new Object[]{id, "bench-" + nameSeq++, parent});
+                }
+            }
+            nodes.addAll(level);
+            level = next;
+        }
+        nodes.addAll(level);
+        tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO ministries (id, name, type, parent_id) VALUES (?, ?, 'MINISTRY', ?)", batch));
+    }
+
+    private void insertMinistry(UUID id, UUID parent) {
+        jdbcTemplate.update("INSERT INTO ministries (id, name, type, parent_id) VALUES (?, ?, 'MINISTRY', ?)",
+                id, "bench-" + nameSeq++, parent);
+    }
+
+    private static long countNodes(int depth, int fanOut) {
+        long total = 0;
+        long level = 1;
+        for (int d = 0; d <= depth; d++) {
+            total += level;
+            level *= fanOut;
+        }
+        return total;
+    }
+
+    /**
+     * Loads auto_explain for this session; plans then arrive as LOG notices on each statement.
+     * Needs a superuser (always true for the embedded server).
+     */
+    private boolean enableAutoExplain() {
+        try {
+            jdbcTemplate.execute("LOAD 'auto_explain'");
+            jdbcTemplate.execute("SET auto_explain.log_analyze = on");
+            jdbcTemplate.execute("SET auto_explain.log_buffers = on");
+            jdbcTemplate.execute("SET auto_explain.log_format = json");
+            jdbcTemplate.execute("SET auto_explain.log_nested_statements = on");
+            jdbcTemplate.execute("SET auto_explain.log_min_duration = -1");
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("auto_explain not available, report will have no plans: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private ObjectNode summarize(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("samples", sorted.length);
+        result.put("meanMs", Arrays.stream(sorted).average().orElse(0) / 1e6);
+        result.put("minMs", sorted[0] / 1e6);
+        result.put("p50Ms", percentile(sorted, 50));
+        result.put("p90Ms", percentile(sorted, 90));
+        result.put("p95Ms", percentile(sorted, 95));
+        result.put("p99Ms", percentile(sorted, 99));
+        result.put("maxMs", sorted[sorted.length - 1] / 1e6);
+        return result;
+    }
+
+    // nearest-rank percentile
+    private static double percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    /**
+     * Collects auto_explain output (LOG notices surfaced as statement warnings) while capturing.
+     */
+    private final class PlanCapturingJdbcTemplate extends JdbcTemplate {
+
+        private ArrayNode captured;
+
+        PlanCapturingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        void startCapture() {
+            execute((ConnectionCallback<Void>) con -> {
+                con.clearWarnings();
+                return null;
+            });
+            captured = objectMapper.createArrayNode();
+            execute("SET client_min_messages = log");
+            execute("SET auto_explain.log_min_duration = 0");
+        }
+
+        ArrayNode stopCapture() {
+            // plans of plain SELECTs arrive once the portal closes, i.e. with the commit
+            execute((ConnectionCallback<Void>) con -> {
+                for (SQLWarning w = con.getWarnings(); w != null; w = w.getNextWarning()) addPlan(w.getMessage());
+                con.clearWarnings();
+                return null;
+            });
+            execute("SET auto_explain.log_min_duration = -1");
+            execute("RESET client_min_messages");
+            ArrayNode plans = captured;
+            captured = null;
+            return plans;
+        }
+
+        @Override
+        protected void handleWarnings(Statement stmt) throws java.sql.SQLException {
+            if (captured != null) {
+                for (SQLWarning w = stmt.getWarnings(); w != null; w = w.getNextWarning()) addPlan(w.getMessage());
+            }
+            super.handleWarnings(stmt);
+        }
+
+        private void addPlan(String message) {
+            // "duration: 0.123 ms  plan:\n{ ...json... }"
+            int json = message != null && message.startsWith("duration:") ? message.indexOf('{') : -1;
+            if (json < 0) return;
+            try {
+                JsonNode plan = objectMapper.readTree(message.substring(json));
+                ObjectNode entry = captured.addObject();
+                entry.put("durationMs", Double.parseDouble(message.substring(9, message.indexOf("ms")).trim()));
+                entry.setAll((ObjectNode) plan);
+            } catch (Exception e) {
+                captured.addObject().put("unparsed", message);
+            }
+        }
+    }
+}
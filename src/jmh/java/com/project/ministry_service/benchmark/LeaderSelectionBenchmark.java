@@ -0,0 +1,81 @@
+package com.project.ministry_service.benchmark;
+
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.ministry.domain.model.MinistryMember;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leader selection as done in /details: the committee member with the lowest role priority,
+ * for every ministry's committee. enumPriority reads the priority field of RoleName;
+ * mapLookup is the former boxed Map&lt;RoleName, Integer&gt; lookup, kept as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderSelectionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int assignments;
+
+    @Param({"20"})
+    int membersPerMinistry;
+
+    // the former lookup table: an immutable map with the same priorities
+    private static final Map<RoleName, Integer> ROLE_PRIORITY_MAP = Map.copyOf(EnumSet.allOf(RoleName.class).stream()
+            .collect(Collectors.toMap(role -> role, RoleName::priority)));
+
+    private List<List<MinistryMember>> committees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(assignments, membersPerMinistry, 42);
+        committees = new ArrayList<>(data.assignmentsByMinistry.size());
+        for (List<MinistryMember> members : data.assignmentsByMinistry.values()) {
+            committees.add(members.stream().filter(MinistryMember::isCommittee).toList());
+        }
+    }
+
+    @Benchmark
+    public void enumPriority(Blackhole bh) {
+        for (List<MinistryMember> committee : committees) {
+            MinistryMember leader = null;
+            int leaderPriority = Integer.MAX_VALUE;
+            for (MinistryMember mm : committee) {
+                int priority = RoleName.priorityOf(mm.getRole());
+                if (priority < leaderPriority) {
+                    leaderPriority = priority;
+                    leader = mm;
+                }
+            }
+            bh.consume(leader);
+        }
+    }
+
+    @Benchmark
+    public void mapLookup(Blackhole bh) {
+        for (List<MinistryMember> committee : committees) {
+            MinistryMember leader = null;
+            int leaderPriority = Integer.MAX_VALUE;
+            for (MinistryMember mm : committee) {
+                RoleName role = mm.getRole();
+                int priority = role != null ? ROLE_PRIORITY_MAP.getOrDefault(role, Integer.MAX_VALUE) : Integer.MAX_VALUE;
+                if (priority < leaderPriority) {
+                    leaderPriority = priority;
+                    leader = mm;
+                }
+            }
+            bh.consume(leader);
+        }
+    }
+}
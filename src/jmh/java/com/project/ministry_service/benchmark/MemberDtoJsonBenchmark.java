@@ -0,0 +1,42 @@
+package com.project.ministry_service.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a member-service response into MemberDto, including the personalInfo / contact
+ * unpacking setters (name concat, birthdate parsing and age calculation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberDtoJsonBenchmark {
+
+    private static final TypeReference<List<MemberDto>> MEMBER_LIST = new TypeReference<>() {};
+
+    // the member pool is half the assignment count, see BenchmarkData
+    @Param({"1000", "10000", "100000"})
+    int assignments;
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        payload = BenchmarkData.generate(assignments, 20, 42).memberServicePayload(objectMapper);
+    }
+
+    @Benchmark
+    public List<MemberDto> readMembers() throws Exception {
+        return objectMapper.readValue(payload, MEMBER_LIST);
+    }
+}
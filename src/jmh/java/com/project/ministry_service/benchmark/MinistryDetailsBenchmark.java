@@ -0,0 +1,73 @@
+package com.project.ministry_service.benchmark;
+
+import com.project.ministry_service.client.MemberServiceBatchClient;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.ministry.application.MinistryDetailsView;
+import com.project.ministry_service.ministry.application.impl.MinistryServiceImpl;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MinistryServiceImpl.getMinistriesDetails over stubbed repositories and member-service:
+ * keyset chunking, grouping members per ministry, per-ministry MemberDto copies and leader
+ * selection. The member cache is warmed in setup, so this is the steady-state (cache hit) path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MinistryDetailsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int assignments;
+
+    @Param({"20"})
+    int membersPerMinistry;
+
+    @Param({"500"})
+    int chunkSize;
+
+    private MinistryServiceImpl service;
+    private MemberServiceBatchClient batchClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(assignments, membersPerMinistry, 42);
+        // one chunk per lookup; the cache is warm, so the batch client's pool stays idle
+        batchClient = new MemberServiceBatchClient(
+                data.memberServiceFeignClient(), CircuitBreakerRegistry.ofDefaults(),
+                ObservationRegistry.NOOP, new SimpleMeterRegistry(), 1_000_000, 1, false);
+        MemberServiceCache cache = new MemberServiceCache(
+                batchClient, Optional.empty(), new SimpleMeterRegistry(), data.members.size() * 2L, Duration.ofHours(1));
+        service = new MinistryServiceImpl(data.ministryRepository(),
+                data.memberServiceFeignClient(), cache, Optional.empty(), null, null, data.ministryReadService(), null, null, null, null,
+                new MinistryDetailsView(null, null, null, null, BenchmarkData.transactionManager(), Duration.ofHours(1), false),
+                ObservationRegistry.NOOP, new SimpleMeterRegistry(), CircuitBreakerRegistry.ofDefaults(),
+                Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(service, "detailsChunkSize", chunkSize);
+        service.getMinistriesDetails(new MinistryQuery());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+        ReflectionTestUtils.invokeMethod(batchClient, "shutdown");
+    }
+
+    @Benchmark
+    public List<MinistryDto> getMinistriesDetails() {
+        return service.getMinistriesDetails(new MinistryQuery()).value();
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.ministry_service.benchmark;
+
+import com.project.ministry_service.common.util.MinistryMapper;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.domain.model.Ministry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping of a ministry list (no members attached).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MinistryMapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int ministries;
+
+    private List<Ministry> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = BenchmarkData.ministries(ministries, new Random(42));
+    }
+
+    @Benchmark
+    public List<MinistryDto> toDtoList() {
+        return MinistryMapper.toDtoList(entities);
+    }
+}
@@ -3,9 +3,11 @@ package com.project.ministry_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.project.ministry_service.client")
+@EnableScheduling
 public class MinistryServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,161 @@
+package com.project.ministry_service.client;
+
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Splits large id sets into chunks and fetches them concurrently from member-service.
+ * Each chunk runs through the memberServiceClient circuit breaker on its own; a failed
+ * chunk only leaves its ids out of the result instead of emptying the whole response.
+ * Every chunk is observed as member.client.fetch, parented to the caller's observation
+ * even though it runs on the pool.
+ * <p>
+ * With spring.threads.virtual.enabled the chunks run on virtual threads; concurrent
+ * member-service calls are then capped by a semaphore (parallelism permits) instead of the
+ * pool size, across all callers of this client.
+ */
+@Component
+public class MemberServiceBatchClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberServiceBatchClient.class);
+
+    private final MemberServiceFeignClient memberServiceFeignClient;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int chunkSize;
+    private final ObservationRegistry observationRegistry;
+    private final DistributionSummary idsPerCall;
+
+    public MemberServiceBatchClient(MemberServiceFeignClient memberServiceFeignClient,
+                                    CircuitBreakerRegistry circuitBreakerRegistry,
+                                    ObservationRegistry observationRegistry,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.member-client.chunk-size:100}") int chunkSize,
+                                    @Value("${app.member-client.parallelism:8}") int parallelism,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("member-client chunk-size and parallelism must be positive");
+        }
+        this.memberServiceFeignClient = memberServiceFeignClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("memberServiceClient");
+        this.chunkSize = chunkSize;
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("member-client-", 0).factory())
+                : Executors.newFixedThreadPool(parallelism);
+        this.inFlight = new Semaphore(parallelism);
+        this.observationRegistry = observationRegistry;
+        this.idsPerCall = DistributionSummary.builder("member.client.ids")
+                .description("Member ids per member-service call")
+                .baseUnit("ids")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) chunkSize)
+                .register(meterRegistry);
+    }
+
+    public Map<String, MemberDto> getMembersByIds(Set<String> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+
+        List<Set<String>> chunks = chunk(ids);
+        Observation parent = observationRegistry.getCurrentObservation();
+        if (chunks.size() == 1) return toMap(fetchChunk(chunks.get(0), parent));
+
+        List<CompletableFuture<List<MemberDto>>> futures = new ArrayList<>(chunks.size());
+        for (Set<String> c : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> fetchChunk(c, parent), executor));
+        }
+
+        Map<String, MemberDto> merged = new HashMap<>(ids.size() * 2);
+        for (CompletableFuture<List<MemberDto>> f : futures) {
+            merged.putAll(toMap(f.join()));
+        }
+        return merged;
+    }
+
+    /**
+     * Same lookup without blocking the caller: every chunk runs on the pool, so the caller
+     * can keep working (e.g. on its DB results) until it joins.
+     */
+    public CompletableFuture<Map<String, MemberDto>> getMembersByIdsAsync(Set<String> ids) {
+        if (ids == null || ids.isEmpty()) return CompletableFuture.completedFuture(Map.of());
+
+        Observation parent = observationRegistry.getCurrentObservation();
+        List<CompletableFuture<List<MemberDto>>> futures = new ArrayList<>();
+        for (Set<String> c : chunk(ids)) {
+            futures.add(CompletableFuture.supplyAsync(() -> fetchChunk(c, parent), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            Map<String, MemberDto> merged = new HashMap<>(ids.size() * 2);
+            for (CompletableFuture<List<MemberDto>> f : futures) {
+                merged.putAll(toMap(f.join()));
+            }
+            return merged;
+        });
+    }
+
+    private List<MemberDto> fetchChunk(Set<String> chunk, Observation parent) {
+        idsPerCall.record(chunk.size());
+        Observation observation = Observation.createNotStarted("member.client.fetch", observationRegistry)
+                .parentObservation(parent)
+                .highCardinalityKeyValue("ids", String.valueOf(chunk.size()));
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+        try {
+            return observation.observe(() ->
+                    circuitBreaker.executeSupplier(() -> memberServiceFeignClient.getMembersByIds(chunk)));
+        } catch (Exception e) {
+            // partial failure: the chunk's ids stay missing, the other chunks still answer
+            log.warn("member-service lookup failed for {} ids: {}", chunk.size(), e.toString());
+            return List.of();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private List<Set<String>> chunk(Set<String> ids) {
+        List<Set<String>> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        Set<String> current = new HashSet<>();
+        for (String id : ids) {
+            current.add(id);
+            if (current.size() == chunkSize) {
+                chunks.add(current);
+                current = new HashSet<>();
+            }
+        }
+        if (!current.isEmpty()) chunks.add(current);
+        return chunks;
+    }
+
+    private static Map<String, MemberDto> toMap(List<MemberDto> members) {
+        Map<String, MemberDto> map = new HashMap<>(members.size() * 2);
+        for (MemberDto m : members) {
+            if (m.getId() != null) map.putIfAbsent(m.getId(), m);
+        }
+        return map;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
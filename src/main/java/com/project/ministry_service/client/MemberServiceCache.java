@@ -0,0 +1,131 @@
+package com.project.ministry_service.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-member cache in front of member-service. Bulk lookups only go remote for the ids
+ * that are not cached; entries are dropped on member-change events. Misses go through the
+ * Feign batch client, or the reactive client when app.member-client.transport=reactive.
+ * <p>
+ * Every invalidation is numbered. A fetch notes the number when it starts, and its profiles
+ * are only cached for ids not invalidated since, so a lookup that started before a member
+ * event cannot overwrite the fresh profile cached after it. Invalidation numbers are kept for
+ * INVALIDATION_WINDOW; results of a fetch that took longer are not cached at all.
+ */
+@Component
+public class MemberServiceCache {
+
+    private final MemberServiceBatchClient memberServiceBatchClient;
+    private final MemberServiceReactiveClient memberServiceReactiveClient; // null unless transport=reactive
+    static final Duration INVALIDATION_WINDOW = Duration.ofMinutes(5);
+
+    /** When a fetch started: the last invalidation number then, and the time. */
+    public record Generation(long value, long startedNanos) {}
+
+    private final Cache<String, MemberDto> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    // member id -> number of its last invalidation
+    private final Cache<String, Long> invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(INVALIDATION_WINDOW)
+            .build();
+
+    public MemberServiceCache(MemberServiceBatchClient memberServiceBatchClient,
+                              Optional<MemberServiceReactiveClient> memberServiceReactiveClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.member-cache.maximum-size:50000}") long maximumSize,
+                              @Value("${app.member-cache.ttl:30m}") Duration ttl) {
+        this.memberServiceBatchClient = memberServiceBatchClient;
+        this.memberServiceReactiveClient = memberServiceReactiveClient.orElse(null);
+        // size-bounded W-TinyLFU eviction + TTL; stats feed the prometheus endpoint
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberServiceCache");
+    }
+
+    public List<MemberDto> getMembersByIds(Set<String> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        Map<String, MemberDto> cached = cache.getAllPresent(ids);
+        if (cached.size() == ids.size()) return new ArrayList<>(cached.values());
+
+        Set<String> missing = new HashSet<>(ids);
+        missing.removeAll(cached.keySet());
+        Generation generation = generation();
+        Map<String, MemberDto> found = memberServiceReactiveClient != null
+                ? memberServiceReactiveClient.getMembersByIds(missing).block()
+                : memberServiceBatchClient.getMembersByIds(missing);
+        // ids member-service does not return are simply not cached (and retried next time)
+        putAll(found.values(), generation);
+        List<MemberDto> result = new ArrayList<>(cached.size() + found.size());
+        result.addAll(cached.values());
+        result.addAll(found.values());
+        return result;
+    }
+
+    /**
+     * Non-blocking variant: cached ids are answered immediately, the misses are fetched in
+     * the background and cached when they arrive.
+     */
+    public CompletableFuture<List<MemberDto>> getMembersByIdsAsync(Set<String> ids) {
+        if (ids == null || ids.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        Map<String, MemberDto> cached = cache.getAllPresent(ids);
+        if (cached.size() == ids.size()) return CompletableFuture.completedFuture(new ArrayList<>(cached.values()));
+
+        Set<String> missing = new HashSet<>(ids);
+        missing.removeAll(cached.keySet());
+        Generation generation = generation();
+        CompletableFuture<Map<String, MemberDto>> fetched = memberServiceReactiveClient != null
+                ? memberServiceReactiveClient.getMembersByIds(missing).toFuture()
+                : memberServiceBatchClient.getMembersByIdsAsync(missing);
+        return fetched.thenApply(found -> {
+            putAll(found.values(), generation);
+            List<MemberDto> result = new ArrayList<>(cached.size() + found.size());
+            result.addAll(cached.values());
+            result.addAll(found.values());
+            return result;
+        });
+    }
+
+    /** To be taken before a member-service call whose profiles are then passed to putAll. */
+    public Generation generation() {
+        return new Generation(invalidations.get(), System.nanoTime());
+    }
+
+    /**
+     * Caches profiles fetched since generation, leaving out members invalidated in between.
+     */
+    public void putAll(Collection<MemberDto> members, Generation generation) {
+        if (System.nanoTime() - generation.startedNanos() > INVALIDATION_WINDOW.toNanos()) return;
+        for (MemberDto m : members) {
+            if (m.getId() == null) continue;
+            // the check and the put are one step on the key, so an invalidation comes before or after both
+            cache.asMap().compute(m.getId(), (id, current) -> {
+                Long invalidated = invalidatedAt.getIfPresent(id);
+                return invalidated != null && invalidated > generation.value() ? current : m;
+            });
+        }
+    }
+
+    public void invalidate(String memberId) {
+        if (memberId != null) invalidateAll(List.of(memberId));
+    }
+
+    public void invalidateAll(Collection<String> memberIds) {
+        // numbered first: a fetch putting one of these ids after this point skips it
+        for (String memberId : memberIds) invalidatedAt.put(memberId, invalidations.incrementAndGet());
+        cache.invalidateAll(memberIds);
+    }
+}
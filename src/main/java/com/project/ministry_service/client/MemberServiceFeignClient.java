@@ -13,9 +13,6 @@ import java.util.Set;
 @Primary
 @FeignClient(name = "member-service", url = "${member.service.base-url}/api/v1", fallback = MemberServiceFeignClientFallback.class)
 public interface MemberServiceFeignClient {
-    @GetMapping("/members/search1111")
-    List<Map<String,Object>> searchMembers(@RequestParam Map<String,String> filters);
-
     @GetMapping("/members/search")
     List<Map<String,Object>> getAllMembers(@RequestParam String age, @RequestParam String gender, @RequestParam String maritalStatus);
 
@@ -9,11 +9,6 @@ import java.util.*;
 
 @Component
 public class MemberServiceFeignClientFallback implements MemberServiceFeignClient {
-    @Override
-    public List<Map<String,Object>> searchMembers(Map<String, String> filters) {
-        return Collections.emptyList(); // fallback/mock
-    }
-
     @Override
     public List<Map<String,Object>> getAllMembers(@RequestParam String age, @RequestParam String gender, @RequestParam String maritalStatus) {
         return Collections.emptyList(); // fallback/mock
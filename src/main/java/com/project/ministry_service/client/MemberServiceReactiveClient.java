@@ -0,0 +1,206 @@
+package com.project.ministry_service.client;
+
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Non-blocking member-service client on WebClient / Reactor Netty, active with
+ * app.member-client.transport=reactive. Connections come from a bounded pool (HTTP/2 is
+ * negotiated via ALPN for https base urls), every call has a timeout, and id lookups go
+ * through the memberServiceClient circuit breaker per chunk like the Feign batch client.
+ * <p>
+ * Concurrent lookups of the same member id share the request already in flight instead
+ * of asking member-service again; a failed chunk only leaves its ids out of the result.
+ * A chunk is claimed id by id and only fetched once complete, and its claims are released
+ * however the lookup ends, so an id is never left mapped to a finished request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.member-client.transport", havingValue = "reactive")
+public class MemberServiceReactiveClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberServiceReactiveClient.class);
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> SEARCH_RESULT =
+            new ParameterizedTypeReference<>() {};
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final int chunkSize;
+    private final int parallelism;
+    private final DistributionSummary idsPerCall;
+    private final Counter coalescedIds;
+
+    // member id -> the chunk request currently fetching it
+    private final ConcurrentMap<String, Mono<Map<String, MemberDto>>> inFlight = new ConcurrentHashMap<>();
+
+    public MemberServiceReactiveClient(WebClient.Builder webClientBuilder,
+                                       CircuitBreakerRegistry circuitBreakerRegistry,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${member.service.base-url}") String baseUrl,
+                                       @Value("${app.member-client.chunk-size:100}") int chunkSize,
+                                       @Value("${app.member-client.parallelism:8}") int parallelism,
+                                       @Value("${app.member-client.max-connections:50}") int maxConnections,
+                                       @Value("${app.member-client.timeout:2s}") Duration timeout) {
+        if (chunkSize < 1 || parallelism < 1 || maxConnections < 1) {
+            throw new IllegalArgumentException("member-client chunk-size, parallelism and max-connections must be positive");
+        }
+        this.connectionProvider = ConnectionProvider.builder("member-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(timeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeout.toMillis())
+                .responseTimeout(timeout)
+                .compress(true);
+        if (baseUrl.startsWith("https:")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        // the Boot builder carries the codecs and the http.client.requests observation
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl + "/api/v1")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("memberServiceClient");
+        this.timeout = timeout;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.idsPerCall = DistributionSummary.builder("member.client.ids")
+                .description("Member ids per member-service call")
+                .baseUnit("ids")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) chunkSize)
+                .register(meterRegistry);
+        this.coalescedIds = Counter.builder("member.client.coalesced")
+                .description("Member ids served by a member-service request already in flight")
+                .register(meterRegistry);
+    }
+
+    public Mono<Map<String, MemberDto>> getMembersByIds(Set<String> ids) {
+        if (ids == null || ids.isEmpty()) return Mono.just(Map.of());
+
+        // ids are claimed on subscription, and every claim is settled when the lookup ends
+        return Mono.defer(() -> {
+            Set<Mono<Map<String, MemberDto>>> joined = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Claim> claims = new ArrayList<>();
+            Set<String> owned = new HashSet<>();
+            for (String id : ids) {
+                Mono<Map<String, MemberDto>> running = inFlight.get(id);
+                if (running != null) {
+                    joined.add(running);
+                    coalescedIds.increment();
+                } else {
+                    owned.add(id);
+                    if (owned.size() == chunkSize) {
+                        claim(owned, claims, joined);
+                        owned = new HashSet<>();
+                    }
+                }
+            }
+            if (!owned.isEmpty()) claim(owned, claims, joined);
+
+            return Flux.merge(
+                            Flux.fromIterable(claims).flatMap(c -> fetch(c.ids()).doOnNext(result -> settle(c, result)), parallelism),
+                            Flux.fromIterable(joined).flatMap(call -> call))
+                    .collect(() -> new HashMap<String, MemberDto>(ids.size() * 2), (merged, chunk) -> chunk.forEach((id, m) -> {
+                        if (ids.contains(id)) merged.putIfAbsent(id, m);
+                    }))
+                    // a cancelled lookup answers the callers that joined its claims with nothing
+                    .doFinally(signal -> claims.forEach(c -> settle(c, Map.of())));
+        });
+    }
+
+    public Mono<List<Map<String, Object>>> getAllMembers(String age, String gender, String maritalStatus) {
+        return webClient.get()
+                .uri(b -> b.path("/members/search")
+                        .queryParam("age", age)
+                        .queryParam("gender", gender)
+                        .queryParam("maritalStatus", maritalStatus)
+                        .build())
+                .retrieve()
+                .bodyToMono(SEARCH_RESULT)
+                .defaultIfEmpty(List.of())
+                .timeout(timeout);
+    }
+
+    /** Ids one caller fetches for everybody, and the result the other callers wait on. */
+    private record Claim(Set<String> ids, Sinks.One<Map<String, MemberDto>> result, Mono<Map<String, MemberDto>> call) {}
+
+    /**
+     * Claims the ids nobody else is fetching yet with a result that is not started; ids that
+     * another caller claimed in the meantime are answered by that caller's request instead.
+     * The chunk is only fetched once every id of it is claimed.
+     */
+    private void claim(Set<String> candidates, List<Claim> claims, Set<Mono<Map<String, MemberDto>>> joined) {
+        Sinks.One<Map<String, MemberDto>> result = Sinks.one();
+        Mono<Map<String, MemberDto>> call = result.asMono();
+        Set<String> chunk = new HashSet<>();
+        for (String id : candidates) {
+            Mono<Map<String, MemberDto>> running = inFlight.putIfAbsent(id, call);
+            if (running == null) {
+                chunk.add(id);
+            } else {
+                joined.add(running);
+                coalescedIds.increment();
+            }
+        }
+        if (!chunk.isEmpty()) claims.add(new Claim(Set.copyOf(chunk), result, call));
+    }
+
+    // the first settle wins; later ones (the empty answer on completion) are no-ops
+    private void settle(Claim claim, Map<String, MemberDto> result) {
+        claim.ids().forEach(id -> inFlight.remove(id, claim.call()));
+        claim.result().tryEmitValue(result);
+    }
+
+    private Mono<Map<String, MemberDto>> fetch(Set<String> chunk) {
+        idsPerCall.record(chunk.size());
+        return webClient.get()
+                .uri(b -> b.path("/members").queryParam("ids", chunk.toArray()).build())
+                .retrieve()
+                .bodyToFlux(MemberDto.class)
+                .filter(m -> m.getId() != null)
+                .collect(() -> new HashMap<String, MemberDto>(chunk.size() * 2), (map, m) -> map.putIfAbsent(m.getId(), m))
+                .<Map<String, MemberDto>>map(map -> map)
+                .timeout(timeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorResume(e -> {
+                    // partial failure: the chunk's ids stay missing, the other chunks still answer
+                    log.warn("member-service lookup failed for {} ids: {}", chunk.size(), e.toString());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.dispose();
+    }
+}
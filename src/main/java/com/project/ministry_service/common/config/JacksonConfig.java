@@ -0,0 +1,22 @@
+package com.project.ministry_service.common.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the default (serialize everything) property filter for MinistryDto on the shared
+ * ObjectMapper, so the DTO renders normally wherever no sparse fieldset was requested.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer ministryFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(MinistryDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.ministry_service.common.config;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+
+/**
+ * Listener error handling (picked up by Boot's listener container factory). Listeners apply
+ * events idempotently, so retries are safe. A batch listener that pins a failure on one record
+ * throws BatchListenerFailedException with its index: the records before it are committed and
+ * that record is retried with backoff for up to app.kafka.retry.max-elapsed-time, then published
+ * to "&lt;topic&gt;.DLT" (same partition) and skipped, so one poison event does not stall its
+ * partition. Any other failure (the database being down) retries the whole
+ * batch with backoff until it succeeds and never reaches the DLT.
+ */
+@Configuration
+public class KafkaConfig {
+
+    public static final String DLT_SUFFIX = ".DLT";
+
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(KafkaTemplate<String, Object> kafkaTemplate,
+                                                @Value("${app.kafka.retry.max-elapsed-time:15m}") Duration maxElapsedTime) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, e) -> new TopicPartition(record.topic() + DLT_SUFFIX, record.partition()));
+        // whole-batch retries: no time limit
+        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer, backOff(null));
+        // a failing record: bounded, then the DLT
+        ExponentialBackOff recordBackOff = backOff(maxElapsedTime);
+        handler.setBackOffFunction((record, e) -> recordBackOff);
+        return handler;
+    }
+
+    private static ExponentialBackOff backOff(Duration maxElapsedTime) {
+        ExponentialBackOff backOff = new ExponentialBackOff(1_000, 2.0);
+        backOff.setMaxInterval(60_000);
+        if (maxElapsedTime != null) backOff.setMaxElapsedTime(maxElapsedTime.toMillis());
+        return backOff;
+    }
+}
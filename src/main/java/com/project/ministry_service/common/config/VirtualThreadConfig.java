@@ -0,0 +1,27 @@
+package com.project.ministry_service.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Extras for spring.threads.virtual.enabled=true. Boot itself then runs Tomcat requests, the
+ * application task executor (streamed responses) and Kafka listeners on virtual threads; the
+ * member-service batch client switches on its own. This adds pinning monitoring. Database
+ * access needs no gate of its own: Hikari already queues callers beyond the pool size, for up to
+ * its connection-timeout.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "close")
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
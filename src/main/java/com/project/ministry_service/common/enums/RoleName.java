@@ -1,52 +1,74 @@
 package com.project.ministry_service.common.enums;
 
+/**
+ * Ministry roles. The priority is the leadership order used for leader selection in /details
+ * and the highest-role lookups: lower value = higher role. It is a field rather than a map
+ * lookup because those selections compare it for every assignment.
+ */
 public enum RoleName {
-    SENIOR_PASTOR,
-    LEAD_PASTOR,
-    ASSOCIATE_PASTOR,
-    CHAIRMAN,
-    PRESIDENT,
-    SUPERINTENDENT,
-    VICE_CHAIRMAN,
-    VICE_PRESIDENT,
-    COORDINATOR,
-    ASSISTANT_COORDINATOR,
-    DEACON,
-    DEACONESS,
-    SECRETARY,
-    ASSISTANT_SECRETARY,
-    TREASURER,
-    ASSISTANT_TREASURER,
-    FINANCE_OFFICER,
-    ADVISOR,
-    REPRESENTATIVE,
-    IT_ADMINISTRATOR,
-    MEDIA_DIRECTOR,
-    PROGRAM_DIRECTOR,
-    PUBLIC_RELATIONS_OFFICER,
-    TEACHER,
-    USHER,
-    GREETER,
-    MAINTENANCE_WORKER,
-    CUSTODIAN,
-    GROUNDSKEEPER,
-    BUS_DRIVER,
-    MECHANIC,
-    SOFTWARE_DEVELOPER,
-    ELECTRICAL_TECHNICIAN,
-    DANCER,
-    PROJECTIONIST,
-    AUDIO_ENGINEER,
-    VIDEO_OPERATOR,
-    LIGHTING_TECHNICIAN,
-    MEDIA_CONTENT_CREATOR,
-    TECHNICAL_SUPPORT,
-    EVENT_PLANNER,
-    SECURITY_OFFICER,
-    VOLUNTEER,
-    INTERN,
-    TRAINEE,
-    MEMBER
+    SENIOR_PASTOR(0),
+    LEAD_PASTOR(1),
+    ASSOCIATE_PASTOR(2),
+    CHAIRMAN(10),
+    PRESIDENT(20),
+    SUPERINTENDENT(22),
+    VICE_CHAIRMAN(11),
+    VICE_PRESIDENT(21),
+    COORDINATOR(23),
+    ASSISTANT_COORDINATOR(24),
+    DEACON(12),
+    DEACONESS(13),
+    SECRETARY(30),
+    ASSISTANT_SECRETARY(31),
+    TREASURER(32),
+    ASSISTANT_TREASURER(33),
+    FINANCE_OFFICER(34),
+    ADVISOR(35),
+    REPRESENTATIVE(36),
+    IT_ADMINISTRATOR(40),
+    MEDIA_DIRECTOR(41),
+    PROGRAM_DIRECTOR(42),
+    PUBLIC_RELATIONS_OFFICER(43),
+    TEACHER(50),
+    USHER(51),
+    GREETER(52),
+    MAINTENANCE_WORKER(60),
+    CUSTODIAN(61),
+    GROUNDSKEEPER(62),
+    BUS_DRIVER(63),
+    MECHANIC(64),
+    SOFTWARE_DEVELOPER(70),
+    ELECTRICAL_TECHNICIAN(71),
+    DANCER(72),
+    PROJECTIONIST(73),
+    AUDIO_ENGINEER(74),
+    VIDEO_OPERATOR(75),
+    LIGHTING_TECHNICIAN(76),
+    MEDIA_CONTENT_CREATOR(77),
+    TECHNICAL_SUPPORT(78),
+    EVENT_PLANNER(90),
+    SECURITY_OFFICER(91),
+    VOLUNTEER(92),
+    INTERN(93),
+    TRAINEE(94),
+    MEMBER(95);
+
+    private final int priority;
+
+    RoleName(int priority) {
+        this.priority = priority;
+    }
+
+    public int priority() {
+        return priority;
+    }
+
+    /**
+     * Priority of a possibly missing role; no role ranks below every role.
+     */
+    public static int priorityOf(RoleName role) {
+        return role != null ? role.priority : Integer.MAX_VALUE;
+    }
 }
 
 
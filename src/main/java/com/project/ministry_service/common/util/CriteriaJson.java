@@ -0,0 +1,54 @@
+package com.project.ministry_service.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads/writes the ministries.criteria jsonb column outside of JPA. Hibernate stores the
+ * embeddable with its column names (age_group, marital_status); camelCase keys are accepted
+ * on read as well.
+ */
+public final class CriteriaJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private CriteriaJson() {
+    }
+
+    public static String toJson(Criteria criteria) {
+        if (criteria == null) return null;
+        Map<String, String> json = new LinkedHashMap<>();
+        json.put("gender", criteria.getGender());
+        json.put("age_group", criteria.getAgeGroup());
+        json.put("marital_status", criteria.getMaritalStatus());
+        try {
+            return MAPPER.writeValueAsString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Criteria fromJson(String json) {
+        if (json == null) return null;
+        try {
+            JsonNode node = MAPPER.readTree(json);
+            Criteria c = new Criteria();
+            c.setGender(text(node, "gender", "gender"));
+            c.setAgeGroup(text(node, "age_group", "ageGroup"));
+            c.setMaritalStatus(text(node, "marital_status", "maritalStatus"));
+            return c;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid criteria json", e);
+        }
+    }
+
+    private static String text(JsonNode node, String key, String alias) {
+        JsonNode v = node.hasNonNull(key) ? node.get(key) : node.get(alias);
+        return v != null && !v.isNull() ? v.asText() : null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.ministry_service.messaging;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Member lifecycle event published by member-service. Only the fields the ministry
+ * service needs are mapped; anything else in the payload is ignored.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MemberChangeEvent {
+    @JsonAlias("id")
+    private String memberId;
+    @JsonAlias("type")
+    private String eventType; // CREATED, UPDATED, DELETED, DEACTIVATED, ...
+}
@@ -0,0 +1,275 @@
+package com.project.ministry_service.messaging;
+
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.common.util.TransactionHooks;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.application.HighestRoleIndex;
+import com.project.ministry_service.ministry.application.MemberAttributeIndex;
+import com.project.ministry_service.ministry.application.MinistryDatasetVersion;
+import com.project.ministry_service.ministry.application.MinistryDetailsView;
+import com.project.ministry_service.ministry.application.MinistryMemberJdbcService;
+import com.project.ministry_service.ministry.application.MinistryMemberJdbcService.MembershipRef;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Member-service lifecycle events, consumed in batches. Deletions and deactivations switch the
+ * member's assignments off (reactivations back on) with one set-based update per batch, in a
+ * transaction that also records the last applied offset per partition in member_event_offsets:
+ * a batch redelivered after a crash or rebalance skips what was already applied. A member's
+ * state is taken from its last lifecycle event in the batch (a later profile update does not
+ * undo a deactivation). The in-process member cache, replica, highest-role index and the
+ * details read model are updated once per batch afterwards.
+ * <p>
+ * Infrastructure failures fail the whole batch (retried without a time limit). Any other
+ * failure is pinned on one record by applying the batch record by record, and reported with
+ * a BatchListenerFailedException: the records before it stay applied and only that record
+ * can end up in the dead-letter topic (see KafkaConfig).
+ */
+@Component
+public class MemberEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberEventListener.class);
+
+    private static final Set<String> REMOVALS = Set.of("DELETED", "DEACTIVATED");
+    private static final Set<String> REACTIVATIONS = Set.of("ACTIVATED", "REACTIVATED", "RESTORED");
+
+    /** A member's events in one batch: its last lifecycle event (null if none) and any profile event. */
+    private record MemberChange(String lifecycle, boolean profileChanged) {
+        boolean removed() {
+            return lifecycle != null && REMOVALS.contains(lifecycle);
+        }
+
+        boolean reactivated() {
+            return lifecycle != null && REACTIVATIONS.contains(lifecycle);
+        }
+    }
+
+    private final MemberServiceCache memberServiceCache;
+    private final MemberAttributeIndex memberAttributeIndex;
+    private final MinistryDatasetVersion datasetVersion;
+    private final MinistryMemberJdbcService ministryMemberJdbcService;
+    private final HighestRoleIndex highestRoleIndex;
+    private final MinistryEventOutbox eventOutbox;
+    private final MinistryDetailsView detailsView;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final String groupId;
+    private final Counter applied;
+    private final Counter duplicates;
+    private final Counter unreadable;
+
+    public MemberEventListener(MemberServiceCache memberServiceCache, MemberAttributeIndex memberAttributeIndex,
+                               MinistryDatasetVersion datasetVersion, MinistryMemberJdbcService ministryMemberJdbcService,
+                               HighestRoleIndex highestRoleIndex, MinistryEventOutbox eventOutbox,
+                               MinistryDetailsView detailsView, NamedParameterJdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.kafka.consumer.group-id:ministry-service-group}") String groupId) {
+        this.memberServiceCache = memberServiceCache;
+        this.memberAttributeIndex = memberAttributeIndex;
+        this.datasetVersion = datasetVersion;
+        this.ministryMemberJdbcService = ministryMemberJdbcService;
+        this.highestRoleIndex = highestRoleIndex;
+        this.eventOutbox = eventOutbox;
+        this.detailsView = detailsView;
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.groupId = groupId;
+        this.applied = counter(meterRegistry, "applied");
+        this.duplicates = counter(meterRegistry, "duplicate");
+        this.unreadable = counter(meterRegistry, "unreadable");
+    }
+
+    // one consumer per partition; unreadable payloads arrive as null values instead of failing the batch
+    @KafkaListener(
+            topics = "${app.kafka.member-topic:members}",
+            groupId = "${spring.kafka.consumer.group-id:ministry-service-group}",
+            autoStartup = "${app.kafka.member-events-enabled:true}",
+            batch = "true",
+            concurrency = "${app.kafka.member-listener.concurrency:3}",
+            properties = {
+                    "value.deserializer=org.springframework.kafka.support.serializer.ErrorHandlingDeserializer",
+                    "spring.deserializer.value.delegate.class=org.springframework.kafka.support.serializer.JsonDeserializer",
+                    "spring.json.use.type.headers=false",
+                    "spring.json.value.default.type=com.project.ministry_service.messaging.MemberChangeEvent",
+                    "max.poll.records=${app.kafka.member-listener.max-batch:500}"
+            })
+    public void onMemberChanges(List<ConsumerRecord<String, MemberChangeEvent>> records) {
+        try {
+            apply(records);
+        } catch (RuntimeException e) {
+            if (infrastructure(e)) throw e; // the whole batch is retried until the database is back
+            // a data error somewhere in the batch: apply record by record to pin it on one
+            log.warn("Member event batch of {} failed, applying it record by record: {}", records.size(), e.toString());
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    apply(records.subList(i, i + 1));
+                } catch (RuntimeException recordFailure) {
+                    if (infrastructure(recordFailure)) throw recordFailure;
+                    throw new BatchListenerFailedException("Member event failed", recordFailure, i);
+                }
+            }
+        }
+    }
+
+    private void apply(List<ConsumerRecord<String, MemberChangeEvent>> records) {
+        transactionTemplate.executeWithoutResult(status -> applyToAssignments(records));
+
+        // caches: every event in the batch (also redelivered ones, harmless)
+        Map<String, MemberChange> changes = memberChanges(records, null);
+        if (changes.isEmpty()) return;
+        memberServiceCache.invalidateAll(changes.keySet());
+        List<String> removed = new ArrayList<>();
+        Set<String> refreshed = new HashSet<>();
+        changes.forEach((memberId, change) -> (change.removed() ? removed : refreshed).add(memberId));
+        List<MemberDto> profiles = List.of();
+        try {
+            // re-read the profiles in one batched call (which also re-caches them)
+            profiles = memberServiceCache.getMembersByIds(refreshed);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh {} member profiles, the next replica resync catches up: {}",
+                    refreshed.size(), e.getMessage());
+        }
+        memberAttributeIndex.apply(profiles, removed);
+        // rebuilt from the refreshed profiles (and the assignments switched above), then the bump
+        detailsView.refreshForMembers(changes.keySet());
+        datasetVersion.membersChanged(); // /details embeds member profiles
+    }
+
+    private void applyToAssignments(List<ConsumerRecord<String, MemberChangeEvent>> records) {
+        Map<Integer, Long> appliedUpTo = lockOffsets(records);
+        Map<String, MemberChange> changes = memberChanges(records, appliedUpTo);
+
+        List<String> deactivate = new ArrayList<>();
+        List<String> reactivate = new ArrayList<>();
+        changes.forEach((memberId, change) -> {
+            if (change.removed()) deactivate.add(memberId);
+            else if (change.reactivated()) reactivate.add(memberId);
+        });
+        List<MembershipRef> deactivated = ministryMemberJdbcService.setActiveForMembers(deactivate, false);
+        List<MembershipRef> reactivated = ministryMemberJdbcService.setActiveForMembers(reactivate, true);
+        eventOutbox.membersActiveChanged(deactivated, false);
+        eventOutbox.membersActiveChanged(reactivated, true);
+        saveOffsets(records);
+
+        if (deactivated.isEmpty() && reactivated.isEmpty()) return;
+        Set<String> affected = new HashSet<>();
+        for (MembershipRef ref : deactivated) affected.add(ref.memberId());
+        for (MembershipRef ref : reactivated) affected.add(ref.memberId());
+        TransactionHooks.afterCommit(() -> highestRoleIndex.refreshMembers(affected));
+        datasetVersion.ministriesChanged();
+    }
+
+    // last applied offset per partition of this batch; the row locks keep a consumer that lost
+    // the partition in a rebalance from applying the same events concurrently. Rows are created
+    // first (-1: nothing applied), so a partition's first batch is locked like any other: a
+    // concurrent insert of the same row waits for this transaction
+    private Map<Integer, Long> lockOffsets(List<ConsumerRecord<String, MemberChangeEvent>> records) {
+        Set<Integer> partitions = new TreeSet<>();
+        for (ConsumerRecord<String, MemberChangeEvent> record : records) partitions.add(record.partition());
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("group", groupId)
+                .addValue("topic", records.isEmpty() ? "" : records.get(0).topic())
+                .addValue("partitions", partitions.toArray(Integer[]::new));
+        jdbc.update("""
+                INSERT INTO member_event_offsets (consumer_group, topic, partition, last_offset)
+                SELECT :group, :topic, p, -1 FROM unnest(CAST(:partitions AS int[])) AS p
+                ON CONFLICT (consumer_group, topic, partition) DO NOTHING
+                """, params);
+        Map<Integer, Long> offsets = new HashMap<>();
+        jdbc.query("""
+                        SELECT partition, last_offset FROM member_event_offsets
+                        WHERE consumer_group = :group AND topic = :topic AND partition = ANY(CAST(:partitions AS int[]))
+                        ORDER BY partition
+                        FOR UPDATE
+                        """,
+                params, rs -> { offsets.put(rs.getInt("partition"), rs.getLong("last_offset")); });
+        return offsets;
+    }
+
+    private void saveOffsets(List<ConsumerRecord<String, MemberChangeEvent>> records) {
+        Map<Integer, ConsumerRecord<String, MemberChangeEvent>> last = new HashMap<>();
+        for (ConsumerRecord<String, MemberChangeEvent> record : records) last.put(record.partition(), record);
+        List<SqlParameterSource> rows = new ArrayList<>(last.size());
+        for (ConsumerRecord<String, MemberChangeEvent> record : last.values()) {
+            rows.add(new MapSqlParameterSource()
+                    .addValue("group", groupId)
+                    .addValue("topic", record.topic())
+                    .addValue("partition", record.partition())
+                    .addValue("offset", record.offset()));
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO member_event_offsets (consumer_group, topic, partition, last_offset)
+                VALUES (:group, :topic, :partition, :offset)
+                ON CONFLICT (consumer_group, topic, partition) DO UPDATE
+                    SET last_offset = GREATEST(member_event_offsets.last_offset, EXCLUDED.last_offset), updated_at = now()
+                """, rows.toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * memberId -> its events in the batch, in offset order per partition: the last lifecycle
+     * event (removal or reactivation) and whether any other event (a profile change) came in.
+     * With appliedUpTo, events at or below the partition's applied offset are skipped (and
+     * counted); without it, every readable event counts.
+     */
+    private Map<String, MemberChange> memberChanges(List<ConsumerRecord<String, MemberChangeEvent>> records,
+                                                    Map<Integer, Long> appliedUpTo) {
+        Map<String, MemberChange> changes = new HashMap<>();
+        for (ConsumerRecord<String, MemberChangeEvent> record : records) {
+            if (appliedUpTo != null && record.offset() <= appliedUpTo.getOrDefault(record.partition(), -1L)) {
+                duplicates.increment();
+                continue;
+            }
+            MemberChangeEvent event = record.value();
+            if (event == null || event.getMemberId() == null) {
+                if (appliedUpTo != null) {
+                    unreadable.increment();
+                    log.warn("Skipping unreadable member event at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                }
+                continue;
+            }
+            if (appliedUpTo != null) applied.increment();
+            String type = event.getEventType() != null ? event.getEventType().toUpperCase(Locale.ROOT) : "UPDATED";
+            boolean lifecycle = REMOVALS.contains(type) || REACTIVATIONS.contains(type);
+            changes.merge(event.getMemberId(), new MemberChange(lifecycle ? type : null, !lifecycle),
+                    (before, next) -> new MemberChange(next.lifecycle() != null ? next.lifecycle() : before.lifecycle(),
+                            before.profileChanged() || next.profileChanged()));
+        }
+        return changes;
+    }
+
+    // failures that are no fault of the events: connection loss, timeouts, deadlocks
+    private static boolean infrastructure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException || t instanceof TransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.events")
+                .description("Member-service events by outcome: applied, duplicate (already applied) or unreadable")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.ministry_service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.ministry_service.ministry.api.dto.MemberAssignmentDto;
+import com.project.ministry_service.ministry.application.MinistryMemberJdbcService.MembershipRef;
+import com.project.ministry_service.ministry.domain.model.Ministry;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ministry change events, appended to the ministry_outbox table in the transaction that makes
+ * the change: an event exists exactly when its change committed. {@link MinistryOutboxRelay}
+ * publishes them to Kafka. Payloads carry eventType, ministryId and occurredAt plus the
+ * ministry (as the REST API renders it), the upserted assignments or the affected memberIds.
+ */
+@Component
+public class MinistryEventOutbox {
+
+    public static final String MINISTRY_CREATED = "MINISTRY_CREATED";
+    public static final String MINISTRY_UPDATED = "MINISTRY_UPDATED";
+    public static final String MEMBERS_ASSIGNED = "MINISTRY_MEMBERS_ASSIGNED";
+    public static final String MEMBERS_DEACTIVATED = "MINISTRY_MEMBERS_DEACTIVATED";
+    public static final String MEMBERS_REACTIVATED = "MINISTRY_MEMBERS_REACTIVATED";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO ministry_outbox (ministry_id, event_type, payload)
+            VALUES (:ministryId, :eventType, CAST(:payload AS jsonb))
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public MinistryEventOutbox(NamedParameterJdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ministrySaved(Ministry ministry, boolean created) {
+        ObjectNode payload = payload(ministry.getId(), created ? MINISTRY_CREATED : MINISTRY_UPDATED);
+        payload.set("ministry", objectMapper.valueToTree(ministry));
+        append(ministry.getId(), payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void membersAssigned(UUID ministryId, List<MemberAssignmentDto> assignments) {
+        if (assignments == null || assignments.isEmpty()) return;
+        ObjectNode payload = payload(ministryId, MEMBERS_ASSIGNED);
+        payload.set("members", objectMapper.valueToTree(assignments));
+        append(ministryId, payload);
+    }
+
+    /**
+     * Assignments switched off (member deleted / deactivated) or back on by member-service
+     * events: one event per ministry, listing its affected memberIds.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void membersActiveChanged(List<MembershipRef> changed, boolean active) {
+        if (changed.isEmpty()) return;
+        Map<UUID, List<String>> byMinistry = new LinkedHashMap<>();
+        for (MembershipRef ref : changed) {
+            byMinistry.computeIfAbsent(ref.ministryId(), k -> new ArrayList<>()).add(ref.memberId());
+        }
+        List<SqlParameterSource> rows = new ArrayList<>(byMinistry.size());
+        byMinistry.forEach((ministryId, memberIds) -> {
+            ObjectNode payload = payload(ministryId, active ? MEMBERS_REACTIVATED : MEMBERS_DEACTIVATED);
+            payload.set("memberIds", objectMapper.valueToTree(memberIds));
+            rows.add(row(ministryId, payload));
+        });
+        jdbc.batchUpdate(INSERT_SQL, rows.toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Events for a bulk import, built in SQL from the ministry_import staging table: one
+     * MINISTRY_CREATED per imported ministry, then one MINISTRY_MEMBERS_ASSIGNED per ministry
+     * with assignments. Same payload shape as the single-ministry events.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int imported() {
+        int created = jdbc.update("""
+                INSERT INTO ministry_outbox (ministry_id, event_type, payload)
+                SELECT i.id, 'MINISTRY_CREATED', jsonb_build_object(
+                        'eventType', 'MINISTRY_CREATED',
+                        'ministryId', i.id,
+                        'occurredAt', to_char(now() AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+                        'ministry', jsonb_build_object(
+                                'id', i.id, 'name', i.name, 'type', i.type,
+                                'establishedDate', i.established_date, 'parentId', i.resolved_parent,
+                                'termStart', i.term_start, 'termEnd', i.term_end,
+                                'criteria', CASE WHEN i.criteria IS NOT NULL THEN jsonb_build_object(
+                                        'gender', i.criteria ->> 'gender',
+                                        'ageGroup', i.criteria ->> 'age_group',
+                                        'maritalStatus', i.criteria ->> 'marital_status') END,
+                                'active', true))
+                FROM ministry_import i
+                ORDER BY i.line_no
+                """, EmptySqlParameterSource.INSTANCE);
+        int assigned = jdbc.update("""
+                INSERT INTO ministry_outbox (ministry_id, event_type, payload)
+                SELECT i.id, 'MINISTRY_MEMBERS_ASSIGNED', jsonb_build_object(
+                        'eventType', 'MINISTRY_MEMBERS_ASSIGNED',
+                        'ministryId', i.id,
+                        'occurredAt', to_char(now() AT TIME ZONE 'UTC', 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+                        'members', (SELECT jsonb_agg(jsonb_build_object(
+                                        'id', mm.member_id, 'role', mm.role, 'committee', mm.committee)
+                                        ORDER BY mm.member_id)
+                                    FROM ministry_members mm WHERE mm.ministry_id = i.id))
+                FROM ministry_import i
+                WHERE i.members IS NOT NULL
+                ORDER BY i.line_no
+                """, EmptySqlParameterSource.INSTANCE);
+        return created + assigned;
+    }
+
+    private ObjectNode payload(UUID ministryId, String eventType) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("eventType", eventType);
+        payload.put("ministryId", ministryId.toString());
+        payload.put("occurredAt", Instant.now().toString());
+        return payload;
+    }
+
+    private void append(UUID ministryId, ObjectNode payload) {
+        jdbc.update(INSERT_SQL, row(ministryId, payload));
+    }
+
+    private MapSqlParameterSource row(UUID ministryId, ObjectNode payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return new MapSqlParameterSource()
+                .addValue("ministryId", ministryId)
+                .addValue("eventType", payload.get("eventType").asText())
+                .addValue("payload", json);
+    }
+}
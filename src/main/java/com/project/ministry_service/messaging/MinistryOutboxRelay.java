@@ -0,0 +1,232 @@
+package com.project.ministry_service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes ministry_outbox rows to the ministries topic, oldest first, keyed by ministry id.
+ * Each batch is sent in one go (the producer's linger / batch-size settings pack it into a few
+ * compressed requests), the relay waits for every ack and only then deletes the rows. A failed
+ * batch stays in the table and is retried on the next poll, so delivery is at-least-once;
+ * consumers can dedupe on the eventId header (the outbox id).
+ * <p>
+ * A lease row (ministry_outbox_relay) keeps a single relay active across instances, which is
+ * what keeps the per-ministry order. Taking or renewing the lease, reading a batch and deleting
+ * it are single auto-committed statements: no transaction or connection is held while waiting
+ * for Kafka. The lease outlives the send timeout, and one that expires (a crashed or stalled
+ * instance) is taken over by the next instance that polls.
+ */
+@Component
+public class MinistryOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(MinistryOutboxRelay.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private record OutboxRow(long id, UUID ministryId, String eventType, String payload, Instant createdAt) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer delay;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    // scheduler thread only
+    private int consecutiveFailures;
+    private long retryAtMillis;
+
+    public MinistryOutboxRelay(NamedParameterJdbcTemplate jdbc,
+                               KafkaTemplate<String, Object> kafkaTemplate, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.kafka.topic:ministries}") String topic,
+                               @Value("${app.outbox.relay-enabled:true}") boolean enabled,
+                               @Value("${app.outbox.batch-size:500}") int batchSize,
+                               @Value("${app.outbox.send-timeout:30s}") Duration sendTimeout,
+                               @Value("${app.outbox.lease:1m}") Duration lease) {
+        if (lease.compareTo(sendTimeout) <= 0) {
+            throw new IllegalArgumentException("app.outbox.lease must be longer than app.outbox.send-timeout");
+        }
+        this.jdbc = jdbc;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.lease = lease;
+        this.published = Counter.builder("ministry.outbox.published")
+                .description("Ministry change events published to Kafka")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.failures = Counter.builder("ministry.outbox.failures")
+                .description("Outbox relay batches that failed and were left for the next poll")
+                .register(meterRegistry);
+        this.delay = Timer.builder("ministry.outbox.delay")
+                .description("Time from an outbox write to its Kafka ack")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ministry.outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .baseUnit("events")
+                .register(meterRegistry);
+        Gauge.builder("ministry.outbox.lag", oldestAgeMillis, a -> a.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.poll-interval:500ms}",
+            fixedDelayString = "${app.outbox.poll-interval:500ms}")
+    public void relay() {
+        if (!enabled) return;
+        if (System.currentTimeMillis() < retryAtMillis) {
+            updateBacklog();
+            return;
+        }
+        try {
+            // keep draining while batches come back full
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+            consecutiveFailures = 0;
+        } catch (RuntimeException e) {
+            failures.increment();
+            // back off exponentially while Kafka (or the database) is unavailable
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, 1000L << Math.min(consecutiveFailures++, 5));
+            retryAtMillis = System.currentTimeMillis() + backoff;
+            log.warn("Outbox relay failed, retrying in {} ms: {}", backoff, e.getMessage());
+        } finally {
+            updateBacklog();
+        }
+    }
+
+    private int relayBatch() {
+        if (!renewLease()) return 0; // another instance is relaying
+
+        List<OutboxRow> rows = jdbc.query("""
+                SELECT id, ministry_id, event_type, payload, created_at
+                FROM ministry_outbox
+                ORDER BY id
+                LIMIT :limit
+                """, new MapSqlParameterSource("limit", batchSize), (rs, i) -> new OutboxRow(
+                rs.getLong("id"), rs.getObject("ministry_id", UUID.class), rs.getString("event_type"),
+                rs.getString("payload"), rs.getTimestamp("created_at").toInstant()));
+        if (rows.isEmpty()) return 0;
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) sends.add(kafkaTemplate.send(record(row)));
+        kafkaTemplate.flush(); // the whole batch is queued: no point in lingering for more
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Publishing outbox events failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("No Kafka ack within " + sendTimeout, e);
+        }
+
+        Long[] ids = new Long[rows.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = rows.get(i).id();
+        jdbc.update("DELETE FROM ministry_outbox WHERE id = ANY(CAST(:ids AS bigint[]))",
+                new MapSqlParameterSource("ids", ids));
+
+        Instant now = Instant.now();
+        for (OutboxRow row : rows) delay.record(Duration.between(row.createdAt(), now));
+        published.increment(rows.size());
+        return rows.size();
+    }
+
+    // takes the lease when it is free or expired, extends it when this instance already holds it
+    private boolean renewLease() {
+        return jdbc.update("""
+                UPDATE ministry_outbox_relay
+                SET owner = :owner, leased_until = now() + :leaseMillis * interval '1 millisecond'
+                WHERE id = 1 AND (owner = :owner OR leased_until < now())
+                """, new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("leaseMillis", lease.toMillis())) == 1;
+    }
+
+    /**
+     * Hands the lease over on shutdown, so another instance does not wait for it to expire.
+     */
+    @PreDestroy
+    void releaseLease() {
+        if (!enabled) return;
+        try {
+            jdbc.update("UPDATE ministry_outbox_relay SET leased_until = '-infinity' WHERE id = 1 AND owner = :owner",
+                    new MapSqlParameterSource("owner", owner));
+        } catch (RuntimeException e) {
+            log.debug("Outbox relay lease release failed: {}", e.getMessage());
+        }
+    }
+
+    private ProducerRecord<String, Object> record(OutboxRow row) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(row.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload " + row.id(), e);
+        }
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, row.ministryId().toString(), payload);
+        record.headers().add("eventId", Long.toString(row.id()).getBytes(StandardCharsets.UTF_8));
+        record.headers().add("eventType", row.eventType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private void updateBacklog() {
+        try {
+            jdbc.getJdbcOperations().query("SELECT count(*), min(created_at) FROM ministry_outbox", rs -> {
+                backlog.set(rs.getLong(1));
+                Timestamp oldest = rs.getTimestamp(2);
+                oldestAgeMillis.set(oldest != null ? Math.max(0, System.currentTimeMillis() - oldest.getTime()) : 0);
+            });
+        } catch (RuntimeException e) {
+            log.debug("Outbox backlog query failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,31 +1,70 @@
 package com.project.ministry_service.ministry.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.project.ministry_service.ministry.api.dto.CreateMinistryRequest;
+import com.project.ministry_service.ministry.api.dto.HierarchyRebuildJobDto;
 import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.MinistryImportResult;
 import com.project.ministry_service.ministry.api.dto.MinistryDto;
-import com.project.ministry_service.ministry.application.HierarchyJdbcService;
+import com.project.ministry_service.ministry.api.dto.MinistryPageDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.ministry.application.HierarchyRebuildJobService;
+import com.project.ministry_service.ministry.application.MinistryImportService;
 import com.project.ministry_service.ministry.application.MinistryService;
+import com.project.ministry_service.ministry.application.MinistrySubtreeStats;
 import com.project.ministry_service.ministry.domain.model.Ministry;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
 @RestController
 @RequestMapping("/api/v1/ministries")
 @CrossOrigin
 public class MinistryController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final FilterProvider NO_FILTERS = new SimpleFilterProvider();
+
     private final MinistryService ministryService;
-    private final HierarchyJdbcService hierarchyJdbcService;
+    private final HierarchyRebuildJobService hierarchyRebuildJobService;
+    private final MinistryImportService ministryImportService;
+    private final ObjectMapper objectMapper;
+    private final MinistryResponseCache responseCache;
+    private final MinistrySubtreeStats subtreeStats;
+
+    @Value("${app.details.chunk-size:500}")
+    private int detailsChunkSize;
 
-    public MinistryController(MinistryService ministryService, HierarchyJdbcService hierarchyJdbcService) {
+    public MinistryController(MinistryService ministryService, HierarchyRebuildJobService hierarchyRebuildJobService,
+                              MinistryImportService ministryImportService, ObjectMapper objectMapper,
+                              MinistryResponseCache responseCache, MinistrySubtreeStats subtreeStats) {
         this.ministryService = ministryService;
-        this.hierarchyJdbcService = hierarchyJdbcService;
+        this.hierarchyRebuildJobService = hierarchyRebuildJobService;
+        this.ministryImportService = ministryImportService;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.subtreeStats = subtreeStats;
     }
 
     @PostMapping
@@ -35,20 +74,71 @@ public class MinistryController {
         return ResponseEntity.ok(m);
     }
 
+    @PostMapping(value = "/import", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<MinistryImportResult> importMinistries(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                 InputStream body) {
+        MinistryImportService.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? MinistryImportService.Format.NDJSON
+                : MinistryImportService.Format.CSV;
+        return ResponseEntity.ok(ministryImportService.importMinistries(body, format));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Ministry> update(@PathVariable UUID id, @RequestBody CreateMinistryRequest req) {
         Ministry m = ministryService.updateMinistry(id, req);
         return ResponseEntity.ok(m);
     }
 
+    // listings accept the MinistryQuery filters: ?type=&active=&parent=&subtreeOf=&sort=&fields=
+    // and are served from the response cache, with ETags (If-None-Match -> 304)
     @GetMapping
-    public ResponseEntity<List<MinistryDto>> getMinistries() {
-        return ResponseEntity.ok(ministryService.getMinistries());
+    public ResponseEntity<byte[]> getMinistries(MinistryQuery query,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.respond("ministries?" + query.cacheKey(), false, fieldsFilter(query),
+                () -> ministryService.getMinistries(query), acceptEncoding);
     }
 
     @GetMapping("/details")
-    public ResponseEntity<List<MinistryDto>> getMinistryDetails() {
-        return ResponseEntity.ok(ministryService.getMinistriesDetails());
+    public ResponseEntity<byte[]> getMinistryDetails(MinistryQuery query,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.respond("details?" + query.cacheKey(), query.includes("members"), fieldsFilter(query),
+                () -> ministryService.getMinistriesDetails(query), acceptEncoding);
+    }
+
+    @GetMapping("/details/page")
+    public ResponseEntity<byte[]> getMinistryDetailsPage(MinistryQuery query,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam(defaultValue = "100") int size,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String key = "details/page?" + query.cacheKey() + "&after=" + (after != null ? after : "") + "&size=" + size;
+        return responseCache.respond(key, query.includes("members"), fieldsFilter(query),
+                () -> ministryService.getMinistriesDetailsPage(query, after, size), acceptEncoding);
+    }
+
+    @GetMapping(value = "/details", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMinistryDetails(MinistryQuery query) {
+        query.validate(); // fail with 400 before the response is committed
+        // one JSON document per line, flushed chunk by chunk; keep the response open between records
+        ObjectWriter writer = objectMapper.writer(fieldsFilter(query)).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> ministryService.streamMinistriesDetails(query, detailsChunkSize, chunk -> {
+            try {
+                for (MinistryDto dto : chunk) {
+                    writer.writeValue(out, dto);
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static FilterProvider fieldsFilter(MinistryQuery query) {
+        SimpleBeanPropertyFilter filter = query.getFields() == null || query.getFields().isEmpty()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(query.getFields());
+        return new SimpleFilterProvider().addFilter(MinistryDto.FIELDS_FILTER, filter);
     }
 
     @GetMapping("/potential-members")
@@ -61,14 +151,49 @@ public class MinistryController {
         return ResponseEntity.ok(ministryService.getPotentialMembers(id));
     }
 
+    // eligibility is evaluated against the local member replica
+    @GetMapping("/eligibility/counts")
+    public ResponseEntity<Map<UUID, Integer>> eligibleMemberCounts() {
+        return ResponseEntity.ok(ministryService.eligibleMemberCounts());
+    }
+
+    @GetMapping("/eligibility/members/{memberId}")
+    public ResponseEntity<List<UUID>> ministriesEligibleFor(@PathVariable String memberId) {
+        return ResponseEntity.ok(ministryService.ministriesEligibleFor(memberId));
+    }
+
     @GetMapping("/{id}/rebuild-hierarchy")
-    public ResponseEntity<String> rebuildHierarchy(@PathVariable UUID id) {
-        hierarchyJdbcService.rebuildFullHierarchy(); // full rebuild
-        return ResponseEntity.ok("Rebuild scheduled/done");
+    public ResponseEntity<HierarchyRebuildJobDto> rebuildHierarchy(@PathVariable UUID id) {
+        return rebuildHierarchy(); // full rebuild, runs in the background
+    }
+
+    @PostMapping("/hierarchy/rebuild")
+    public ResponseEntity<HierarchyRebuildJobDto> rebuildHierarchy() {
+        HierarchyRebuildJobDto job = hierarchyRebuildJobService.submit();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/ministries/hierarchy/rebuild/" + job.getJobId()))
+                .body(job);
+    }
+
+    // headcounts per ministry including its descendants, for the whole tree; gender counts come
+    // from the member replica, so member events invalidate the cached body too
+    @GetMapping("/hierarchy/stats")
+    public ResponseEntity<byte[]> subtreeStats(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.respond("hierarchy/stats", true, NO_FILTERS, subtreeStats::all, acceptEncoding);
+    }
+
+    @GetMapping("/hierarchy/rebuild/{jobId}")
+    public ResponseEntity<HierarchyRebuildJobDto> rebuildHierarchyStatus(@PathVariable String jobId) {
+        return ResponseEntity.of(hierarchyRebuildJobService.find(jobId));
     }
 
     @GetMapping("/{memberId}/highest-role")
     public ResponseEntity<Optional<Map<String, Object>>> getHighestRole(@PathVariable String memberId) {
         return ResponseEntity.ok(ministryService.highestRoleForMember(memberId));
     }
+
+    @PostMapping("/highest-roles")
+    public ResponseEntity<Map<String, Map<String, Object>>> getHighestRoles(@RequestBody Set<String> memberIds) {
+        return ResponseEntity.ok(ministryService.highestRolesForMembers(memberIds));
+    }
 }
@@ -0,0 +1,171 @@
+package com.project.ministry_service.ministry.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ministry_service.ministry.application.MinistryDatasetVersion;
+import com.project.ministry_service.ministry.application.ReadResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized ministry listings, kept until the data behind them changes. Entries are keyed by
+ * request and the dataset versions the response renders, so a write (version bump) makes the
+ * next request render afresh; concurrent identical requests share one rendering. The ETag is
+ * a hash of the body bytes, so a re-rendered but unchanged body keeps its tag and pollers
+ * still get 304 (the conditional check itself is done by Spring for ResponseEntity returns).
+ * Bodies above gzip-min-size are also stored gzip-compressed, for clients that accept it.
+ * A body supplied as an incomplete {@link ReadResult} is served to the requests that shared
+ * its rendering, without an ETag, and then dropped, so the next request renders afresh.
+ */
+@Component
+public class MinistryResponseCache {
+
+    record Rendered(byte[] body, byte[] gzipBody, String etag, boolean complete) {
+        int weight() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final MinistryDatasetVersion datasetVersion;
+    private final AsyncCache<String, Rendered> cache;
+    private final long gzipMinBytes;
+    private final Counter hits;
+    private final Counter misses;
+
+    public MinistryResponseCache(ObjectMapper objectMapper, MinistryDatasetVersion datasetVersion,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.response-cache.maximum-size:64MB}") DataSize maximumSize,
+                                 @Value("${app.response-cache.ttl:1m}") Duration ttl,
+                                 @Value("${app.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.datasetVersion = datasetVersion;
+        // bounded by bytes; the ttl caps staleness of member data changed without an event
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, Rendered rendered) -> key.length() + rendered.weight())
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        this.gzipMinBytes = gzipMinSize.toBytes();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    /**
+     * The cached response for key, rendering it with body and filters on a miss.
+     * withMembers: the body embeds member profiles, so member changes invalidate it too.
+     * body may return a {@link ReadResult}; its value is rendered and its completeness decides
+     * whether the rendering is kept.
+     */
+    public ResponseEntity<byte[]> respond(String key, boolean withMembers, FilterProvider filters,
+                                          Supplier<?> body, String acceptEncoding) {
+        // versions are read before rendering: a write that lands meanwhile leaves this entry behind
+        String versionedKey = key + "@" + datasetVersion.ministries()
+                              + (withMembers ? "." + datasetVersion.members() : "");
+        Rendered rendered = rendered(versionedKey, () -> render(body.get(), filters));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = rendered.gzipBody() != null && acceptsGzip(acceptEncoding);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        if (rendered.complete()) {
+            // a strong tag belongs to one representation, so the encoded one gets its own
+            response.eTag(gzip ? rendered.etag() + "-gzip" : rendered.etag());
+        } else {
+            // a degraded body must not be revalidated into a 304 later, nor kept downstream
+            response.cacheControl(CacheControl.noStore());
+        }
+        return response.body(gzip ? rendered.gzipBody() : rendered.body());
+    }
+
+    private Rendered rendered(String key, Supplier<Rendered> render) {
+        CompletableFuture<Rendered> mine = new CompletableFuture<>();
+        CompletableFuture<Rendered> existing = cache.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            hits.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+        misses.increment();
+        try {
+            Rendered rendered = render.get();
+            mine.complete(rendered);
+            // requests already waiting share it; later ones render again
+            if (!rendered.complete()) cache.asMap().remove(key, mine);
+            return rendered;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e); // failed futures are dropped from the cache
+            throw e;
+        }
+    }
+
+    private Rendered render(Object body, FilterProvider filters) {
+        boolean complete = true;
+        if (body instanceof ReadResult<?> result) {
+            body = result.value();
+            complete = result.complete();
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writer(filters).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        return new Rendered(json, gzip, "0" + DigestUtils.md5DigestAsHex(json), complete);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) continue;
+            boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ministry.response.cache")
+                .description("Ministry listing responses served from / rendered into the response cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.ministry_service.ministry.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HierarchyRebuildJobDto {
+    private String jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private long rowsWritten;
+    private double rowsPerSecond;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
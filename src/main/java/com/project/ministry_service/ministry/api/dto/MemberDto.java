@@ -1,5 +1,6 @@
 package com.project.ministry_service.ministry.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.ministry_service.common.enums.RoleName;
@@ -27,6 +28,9 @@ public class MemberDto {
     private RoleName role;
     private RoleName memberRole;
     private String phone;
+    // feeds the age-group replica; not part of the API
+    @JsonIgnore
+    private LocalDate birthDate;
 
     @JsonProperty("personalInfo")
     private void unpackPersonalInfo(Map<String, Object> personalInfo) {
@@ -41,7 +45,7 @@ public class MemberDto {
         Object birthdateObj = personalInfo.get("birthdate");
         if (birthdateObj != null) {
             String birthdateStr = birthdateObj.toString(); // "1964-04-13"
-            LocalDate birthDate = LocalDate.parse(birthdateStr);
+            this.birthDate = LocalDate.parse(birthdateStr);
             this.age = Period.between(birthDate, LocalDate.now()).getYears();
         }
     }
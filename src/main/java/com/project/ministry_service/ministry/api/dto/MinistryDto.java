@@ -1,16 +1,59 @@
 package com.project.ministry_service.ministry.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.ministry_service.ministry.api.dto.embeddable.Info;
 import com.project.ministry_service.ministry.api.dto.embeddable.MinistryMemberDto;
 import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.function.Supplier;
 
 @Data
+@JsonFilter(MinistryDto.FIELDS_FILTER)
 public class MinistryDto {
+    // sparse fieldsets (?fields=...): every property unless a request narrows the filter
+    public static final String FIELDS_FILTER = "ministryFields";
+
     private String id;
     private Info info = new Info();
-    private Criteria configuration;
+    private volatile Criteria configuration;
     @JsonProperty("members")
     private MinistryMemberDto ministryMemberDto;
+
+    // read path: criteria parsed on first getConfiguration(), not when the row is read. Both fields
+    // are volatile and configuration is written before the source is cleared, so a thread that
+    // sees no source sees the parsed value; threads racing on the first read may both parse (the
+    // source is pure), and either result is kept.
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile Supplier<Criteria> configurationSource;
+
+    public Criteria getConfiguration() {
+        Supplier<Criteria> source = configurationSource;
+        if (source == null) return configuration;
+        Criteria parsed = source.get();
+        configuration = parsed;
+        configurationSource = null;
+        return parsed;
+    }
+
+    public void setConfiguration(Criteria configuration) {
+        this.configuration = configuration;
+        this.configurationSource = null;
+    }
+
+    public void setConfigurationSource(Supplier<Criteria> configurationSource) {
+        this.configuration = null;
+        this.configurationSource = configurationSource;
+    }
 }
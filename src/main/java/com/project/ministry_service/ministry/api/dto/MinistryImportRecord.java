@@ -0,0 +1,31 @@
+package com.project.ministry_service.ministry.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.project.ministry_service.common.enums.MinistryType;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One line of a bulk import. The parent is either an existing ministry id ("direction")
+ * or the name of a ministry (existing or in the same import) in "parent".
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MinistryImportRecord {
+    private String name;
+    private MinistryType type;
+    private LocalDate establishedDate;
+    private String parent;
+    @JsonProperty("direction")
+    private UUID parentId;
+    private LocalDate termStart;
+    private LocalDate termEnd;
+    private Criteria criteria;
+    @JsonProperty("members")
+    private List<MemberAssignmentDto> membersToAssign;
+}
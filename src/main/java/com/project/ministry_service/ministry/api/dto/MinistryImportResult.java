@@ -0,0 +1,14 @@
+package com.project.ministry_service.ministry.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinistryImportResult {
+    private int ministries;
+    private int assignments;
+    private int hierarchyRows;
+}
@@ -0,0 +1,16 @@
+package com.project.ministry_service.ministry.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinistryPageDto {
+    private List<MinistryDto> items;
+    // opaque position after the last ministry in this page (pass as ?after=), null when there is nothing left to read
+    private String nextCursor;
+}
@@ -0,0 +1,65 @@
+package com.project.ministry_service.ministry.api.dto;
+
+import com.project.ministry_service.common.enums.MinistryType;
+import lombok.Data;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Listing filters bound from the query string of GET /ministries and /details:
+ * ?type=MINISTRY&active=true&parent={id}&subtreeOf={id}&sort=-name&fields=id,info,members
+ * All filters are optional and combined with AND; sort takes one of
+ * {@link #SORT_KEYS} with a leading '-' for descending; fields selects top-level
+ * MinistryDto properties (all of them when absent).
+ */
+@Data
+public class MinistryQuery {
+
+    public static final Set<String> SORT_KEYS = Set.of("id", "name", "type", "establishedDate", "termStart", "termEnd");
+    public static final Set<String> FIELDS = Set.of("id", "info", "configuration", "members");
+
+    private MinistryType type;
+    private Boolean active;
+    private UUID parent;
+    private UUID subtreeOf;
+    private String sort;
+    private Set<String> fields;
+
+    public boolean includes(String field) {
+        return fields == null || fields.isEmpty() || fields.contains(field);
+    }
+
+    /**
+     * Rejects unknown sort keys and field names up front (400 instead of a silent full listing).
+     */
+    public MinistryQuery validate() {
+        if (sort != null && !SORT_KEYS.contains(sortKey())) {
+            throw new IllegalArgumentException("Unsupported sort '" + sort + "', expected one of " + SORT_KEYS);
+        }
+        if (fields != null && !FIELDS.containsAll(fields)) {
+            throw new IllegalArgumentException("Unsupported fields " + fields + ", expected a subset of " + FIELDS);
+        }
+        return this;
+    }
+
+    /**
+     * Canonical form of the query (field order ignored), for keying cached responses.
+     */
+    public String cacheKey() {
+        return "type=" + (type != null ? type : "") + "&active=" + (active != null ? active : "")
+                + "&parent=" + (parent != null ? parent : "") + "&subtreeOf=" + (subtreeOf != null ? subtreeOf : "")
+                + "&sort=" + (descending() ? "-" : "") + sortKey()
+                + "&fields=" + (fields != null ? String.join(",", new TreeSet<>(fields)) : "");
+    }
+
+    public String sortKey() {
+        if (sort == null || sort.isBlank()) return "id";
+        return sort.startsWith("-") ? sort.substring(1) : sort;
+    }
+
+    public boolean descending() {
+        return sort != null && sort.startsWith("-");
+    }
+}
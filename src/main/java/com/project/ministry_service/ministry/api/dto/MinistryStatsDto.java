@@ -0,0 +1,26 @@
+package com.project.ministry_service.ministry.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Headcounts of a ministry including all of its descendants. Every count is of distinct
+ * members with an active assignment somewhere in the subtree; genders is null while the
+ * member replica has not loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinistryStatsDto {
+    private UUID ministryId;
+    private UUID parentId;
+    private String name;
+    private int members;
+    private int committee;
+    private Map<String, Integer> roles;
+    private Map<String, Integer> genders;
+}
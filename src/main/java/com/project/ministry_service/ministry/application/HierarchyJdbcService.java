@@ -1,19 +1,41 @@
 package com.project.ministry_service.ministry.application;
 
+import com.project.ministry_service.common.util.TransactionHooks;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 @Service
 public class HierarchyJdbcService {
 
+    public record MoveResult(int deleted, int updated, int inserted) {
+        public int rowsTouched() {
+            return deleted + updated + inserted;
+        }
+    }
+
     private final NamedParameterJdbcTemplate jdbc;
+    private final MinistryHierarchyIndex hierarchyIndex;
+    private final HighestRoleIndex highestRoleIndex;
+    private final ObservationRegistry observationRegistry;
+    private final MinistryDatasetVersion datasetVersion;
 
-    public HierarchyJdbcService(NamedParameterJdbcTemplate jdbc) {
+    public HierarchyJdbcService(NamedParameterJdbcTemplate jdbc, MinistryHierarchyIndex hierarchyIndex,
+                                HighestRoleIndex highestRoleIndex, ObservationRegistry observationRegistry,
+                                MinistryDatasetVersion datasetVersion) {
         this.jdbc = jdbc;
+        this.hierarchyIndex = hierarchyIndex;
+        this.highestRoleIndex = highestRoleIndex;
+        this.observationRegistry = observationRegistry;
+        this.datasetVersion = datasetVersion;
     }
 
     /**
@@ -23,7 +45,7 @@ public class HierarchyJdbcService {
     public void insertSelfAndParentAncestors(UUID newId, UUID parentId) {
         // insert self
         String insertSelf = "INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0) ON CONFLICT DO NOTHING";
-        jdbc.update(insertSelf, new MapSqlParameterSource().addValue("id", newId));
+        statement("insert-self", () -> jdbc.update(insertSelf, new MapSqlParameterSource().addValue("id", newId)));
 
         if (parentId != null) {
             // insert parent ancestors -> newId
@@ -34,80 +56,169 @@ public class HierarchyJdbcService {
                     WHERE descendant_id = :parentId
                     ON CONFLICT DO NOTHING
                     """;
-            jdbc.update(insertAncestors, new MapSqlParameterSource().addValue("newId", newId).addValue("parentId", parentId));
+            statement("insert-ancestors", () -> jdbc.update(insertAncestors,
+                    new MapSqlParameterSource().addValue("newId", newId).addValue("parentId", parentId)));
         }
+
+        TransactionHooks.afterCommit(() -> hierarchyIndex.addNode(newId, parentId));
+        datasetVersion.ministriesChanged();
     }
 
     /**
-     * Move subtree rooted at movedId under newParentId (nullable) in one shot:
-     * deletes old ancestor links and inserts new ones.
+     * Move subtree rooted at movedId under newParentId (nullable) in one statement, touching only
+     * the ancestor-set difference: rows of ancestors the subtree leaves are deleted, rows of new
+     * ancestors are inserted, and rows of shared ancestors are kept (depth adjusted if it changed).
+     * Rejects moves under the node itself or one of its descendants.
      */
     @Transactional
-    public void moveSubtree(UUID movedId, UUID newParentId) {
-        // Delete old ancestor -> descendant rows where ancestor in old ancestors and descendant in subtree
-        String deleteSql = """
+    public MoveResult moveSubtree(UUID movedId, UUID newParentId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("movedId", movedId)
+                .addValue("newParentId", newParentId);
+
+        if (newParentId != null) {
+            Boolean cycle = statement("move-cycle-check", () -> jdbc.queryForObject("""
+                    SELECT EXISTS (
+                        SELECT 1 FROM ministry_hierarchy WHERE ancestor_id = :movedId AND descendant_id = :newParentId
+                    )
+                    """, params, Boolean.class));
+            if (Boolean.TRUE.equals(cycle)) {
+                throw new IllegalArgumentException("Cannot move a ministry under itself or one of its descendants");
+            }
+        }
+
+        // depths below are distances to movedId: ancestor -> descendant = ancestor -> movedId + movedId -> descendant
+        String sql = """
             WITH subtree AS (
-                SELECT descendant_id FROM ministry_hierarchy WHERE ancestor_id = :movedId
+                SELECT descendant_id, depth FROM ministry_hierarchy WHERE ancestor_id = :movedId
             ),
             old_anc AS (
-                SELECT ancestor_id FROM ministry_hierarchy WHERE descendant_id = :movedId
+                SELECT ancestor_id, depth FROM ministry_hierarchy
+                WHERE descendant_id = :movedId AND ancestor_id <> :movedId
+            ),
+            new_anc AS (
+                SELECT ancestor_id, depth + 1 AS depth FROM ministry_hierarchy
+                WHERE descendant_id = CAST(:newParentId AS uuid)
+            ),
+            deleted AS (
+                DELETE FROM ministry_hierarchy mh
+                USING old_anc o, subtree s
+                WHERE mh.ancestor_id = o.ancestor_id AND mh.descendant_id = s.descendant_id
+                  AND NOT EXISTS (SELECT 1 FROM new_anc n WHERE n.ancestor_id = o.ancestor_id)
+                RETURNING 1
+            ),
+            updated AS (
+                UPDATE ministry_hierarchy mh
+                SET depth = n.depth + s.depth
+                FROM new_anc n
+                JOIN old_anc o ON o.ancestor_id = n.ancestor_id
+                CROSS JOIN subtree s
+                WHERE mh.ancestor_id = n.ancestor_id AND mh.descendant_id = s.descendant_id
+                  AND n.depth <> o.depth
+                RETURNING 1
+            ),
+            inserted AS (
+                INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth)
+                SELECT n.ancestor_id, s.descendant_id, n.depth + s.depth
+                FROM new_anc n CROSS JOIN subtree s
+                WHERE NOT EXISTS (SELECT 1 FROM old_anc o WHERE o.ancestor_id = n.ancestor_id)
+                ON CONFLICT (ancestor_id, descendant_id) DO NOTHING
+                RETURNING 1
             )
-            DELETE FROM ministry_hierarchy mh
-            USING old_anc oa, subtree s
-            WHERE mh.ancestor_id = oa.ancestor_id AND mh.descendant_id = s.descendant_id;
+            SELECT (SELECT count(*) FROM deleted) AS deleted,
+                   (SELECT count(*) FROM updated) AS updated,
+                   (SELECT count(*) FROM inserted) AS inserted
             """;
-        jdbc.update(deleteSql, new MapSqlParameterSource().addValue("movedId", movedId));
+        MoveResult result = statement("move-subtree", () -> jdbc.queryForObject(sql, params,
+                (rs, i) -> new MoveResult(rs.getInt("deleted"), rs.getInt("updated"), rs.getInt("inserted"))));
 
-        // Insert new ancestor links combining new parent's ancestors and the subtree
-        if (newParentId != null) {
-            String insertSql = """
-                WITH parent_anc AS (
-                    SELECT ancestor_id, depth FROM ministry_hierarchy WHERE descendant_id = :newParentId
-                    UNION ALL
-                    SELECT :newParentId AS ancestor_id, 0 AS depth
-                ),
-                subtree AS (
-                    SELECT descendant_id, depth FROM ministry_hierarchy WHERE ancestor_id = :movedId
-                )
-                INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth)
-                SELECT p.ancestor_id, s.descendant_id, p.depth + 1 + s.depth
-                FROM parent_anc p CROSS JOIN subtree s
-                ON CONFLICT (ancestor_id, descendant_id) DO NOTHING;
-                """;
-            jdbc.update(insertSql, new MapSqlParameterSource().addValue("newParentId", newParentId).addValue("movedId", movedId));
-        } else {
-            // moving to root: insert ancestors = self only
-            String insertRootSql = """
-                WITH subtree AS (
-                    SELECT descendant_id, depth FROM ministry_hierarchy WHERE ancestor_id = :movedId
-                )
-                INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth)
-                SELECT :movedId AS ancestor_id, s.descendant_id, s.depth
-                FROM subtree s
-                ON CONFLICT (ancestor_id, descendant_id) DO NOTHING;
-                """;
-            jdbc.update(insertRootSql, new MapSqlParameterSource().addValue("movedId", movedId));
-        }
+        TransactionHooks.afterCommit(() -> {
+            hierarchyIndex.move(movedId, newParentId);
+            highestRoleIndex.onMinistriesMoved(hierarchyIndex.subtree(movedId));
+        });
+        datasetVersion.ministriesChanged();
+        return result;
     }
 
     /**
-     * Full rebuild (careful - expensive): truncates and rebuilds entire transitive closure table.
+     * Full rebuild (careful - expensive): rebuilds the entire transitive closure table.
      */
     @Transactional
     public void rebuildFullHierarchy() {
-        String sql = """
-            TRUNCATE TABLE ministry_hierarchy;
-            INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth)
-            WITH RECURSIVE tree AS (
-              SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth FROM ministries
-              UNION ALL
-              SELECT t.ancestor_id, m.id AS descendant_id, t.depth + 1
-              FROM tree t
-              JOIN ministries m ON m.parent_id = t.descendant_id
-            )
-            SELECT ancestor_id, descendant_id, depth FROM tree;
-            """;
-        jdbc.getJdbcOperations().execute(sql);
+        rebuildFullHierarchy(rows -> {});
+    }
+
+    /**
+     * Full rebuild into a shadow table that is swapped in by rename at the end, so readers keep
+     * seeing the old closure rows until commit (never a truncated table). The closure is built
+     * level by level and progressCallback receives the running row count after each level.
+     * Ministry writes wait (SHARE lock on ministries) while the rebuild runs.
+     *
+     * @return number of closure rows written
+     */
+    @Transactional
+    public long rebuildFullHierarchy(LongConsumer progressCallback) {
+        JdbcOperations ops = jdbc.getJdbcOperations();
+        ops.execute("LOCK TABLE ministries IN SHARE MODE");
+
+        boolean identityId = Boolean.TRUE.equals(ops.queryForObject("""
+                SELECT a.attidentity <> ''
+                FROM pg_attribute a
+                WHERE a.attrelid = 'ministry_hierarchy'::regclass AND a.attname = 'id'
+                """, Boolean.class));
+        ops.execute("DROP TABLE IF EXISTS ministry_hierarchy_shadow");
+        ops.execute("CREATE TABLE ministry_hierarchy_shadow (LIKE ministry_hierarchy INCLUDING DEFAULTS INCLUDING IDENTITY)");
+
+        long rows = statement("rebuild-seed", () -> ops.update("""
+                INSERT INTO ministry_hierarchy_shadow (ancestor_id, descendant_id, depth)
+                SELECT id, id, 0 FROM ministries
+                """));
+        progressCallback.accept(rows);
+
+        // one level per statement; a parent cycle in ministries cannot run past the node count
+        int maxDepth = rows > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) rows;
+        for (int depth = 0; depth < maxDepth; depth++) {
+            MapSqlParameterSource level = new MapSqlParameterSource().addValue("depth", depth);
+            int inserted = statement("rebuild-level", () -> jdbc.update("""
+                    INSERT INTO ministry_hierarchy_shadow (ancestor_id, descendant_id, depth)
+                    SELECT s.ancestor_id, m.id, s.depth + 1
+                    FROM ministry_hierarchy_shadow s
+                    JOIN ministries m ON m.parent_id = s.descendant_id
+                    WHERE s.depth = :depth
+                    """, level));
+            if (inserted == 0) break;
+            rows += inserted;
+            progressCallback.accept(rows);
+        }
+
+        // indexes after the load, then swap (the only step that takes an exclusive lock)
+        statement("rebuild-indexes", () -> {
+            ops.execute("ALTER TABLE ministry_hierarchy_shadow ADD CONSTRAINT ministry_hierarchy_shadow_pkey PRIMARY KEY (id)");
+            ops.execute("ALTER TABLE ministry_hierarchy_shadow ADD CONSTRAINT uq_mh_shadow UNIQUE (ancestor_id, descendant_id)");
+            ops.execute("CREATE INDEX idx_mh_ancestor_shadow ON ministry_hierarchy_shadow (ancestor_id)");
+            ops.execute("CREATE INDEX idx_mh_descendant_shadow ON ministry_hierarchy_shadow (descendant_id)");
+            return null;
+        });
+
+        statement("rebuild-swap", () -> {
+            ops.execute("ALTER TABLE ministry_hierarchy RENAME TO ministry_hierarchy_old");
+            ops.execute("ALTER TABLE ministry_hierarchy_shadow RENAME TO ministry_hierarchy");
+            if (!identityId) {
+                // serial id: the copied default still uses the old table's sequence, hand it over before the drop
+                String sequence = ops.queryForObject("SELECT pg_get_serial_sequence('ministry_hierarchy_old', 'id')", String.class);
+                if (sequence != null) ops.execute("ALTER SEQUENCE " + sequence + " OWNED BY ministry_hierarchy.id");
+            }
+            ops.execute("DROP TABLE ministry_hierarchy_old");
+            ops.execute("ALTER TABLE ministry_hierarchy RENAME CONSTRAINT ministry_hierarchy_shadow_pkey TO ministry_hierarchy_pkey");
+            ops.execute("ALTER TABLE ministry_hierarchy RENAME CONSTRAINT uq_mh_shadow TO uq_mh");
+            ops.execute("ALTER INDEX idx_mh_ancestor_shadow RENAME TO idx_mh_ancestor");
+            ops.execute("ALTER INDEX idx_mh_descendant_shadow RENAME TO idx_mh_descendant");
+            return null;
+        });
+
+        TransactionHooks.afterCommit(this::reloadIndexes);
+        datasetVersion.ministriesChanged();
+        return rows;
     }
 
     /**
@@ -117,6 +228,22 @@ public class HierarchyJdbcService {
     @Transactional
     public Integer callRebuildProcedure(UUID rootId) {
         String sql = "SELECT rebuild_ministry_hierarchy(:rootId)";
-        return jdbc.queryForObject(sql, new MapSqlParameterSource().addValue("rootId", rootId), Integer.class);
+        Integer rows = statement("rebuild-procedure",
+                () -> jdbc.queryForObject(sql, new MapSqlParameterSource().addValue("rootId", rootId), Integer.class));
+        TransactionHooks.afterCommit(this::reloadIndexes);
+        datasetVersion.ministriesChanged();
+        return rows;
+    }
+
+    // per-statement timer/span: hierarchy.jdbc{statement=...}
+    private <T> T statement(String name, Supplier<T> work) {
+        return Observation.createNotStarted("hierarchy.jdbc", observationRegistry)
+                .lowCardinalityKeyValue("statement", name)
+                .observe(work);
+    }
+
+    private void reloadIndexes() {
+        hierarchyIndex.reload();
+        highestRoleIndex.reload();
     }
 }
@@ -0,0 +1,167 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.ministry.api.dto.HierarchyRebuildJobDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs full closure-table rebuilds in the background, one at a time, and keeps the status of
+ * the most recent jobs for polling. Progress is also published as actuator metrics.
+ */
+@Service
+public class HierarchyRebuildJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(HierarchyRebuildJobService.class);
+    private static final int KEPT_JOBS = 20;
+
+    private final HierarchyJdbcService hierarchyJdbcService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hierarchy-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // ReentrantLock rather than synchronized: request threads may be virtual (no carrier pinning)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private Job activeJob;
+
+    private final Timer rebuildTimer;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong currentRows = new AtomicLong();
+    private volatile double currentRowsPerSecond;
+
+    public HierarchyRebuildJobService(HierarchyJdbcService hierarchyJdbcService, MeterRegistry meterRegistry) {
+        this.hierarchyJdbcService = hierarchyJdbcService;
+        this.rebuildTimer = Timer.builder("hierarchy.rebuild.duration")
+                .description("Full closure-table rebuild time")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("hierarchy.rebuild.jobs").tag("outcome", "completed").register(meterRegistry);
+        this.failedCounter = Counter.builder("hierarchy.rebuild.jobs").tag("outcome", "failed").register(meterRegistry);
+        Gauge.builder("hierarchy.rebuild.rows", currentRows, AtomicLong::get)
+                .description("Closure rows written by the running (or last) rebuild")
+                .register(meterRegistry);
+        Gauge.builder("hierarchy.rebuild.rows.per.second", this, s -> s.currentRowsPerSecond)
+                .description("Write rate of the running (or last) rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a rebuild, or returns the one already queued/running.
+     */
+    public HierarchyRebuildJobDto submit() {
+        lock.lock();
+        try {
+            if (activeJob != null) return activeJob.toDto();
+
+            Job job = new Job(UUID.randomUUID().toString());
+            jobs.put(job.id, job);
+            while (jobs.size() > KEPT_JOBS) jobs.remove(jobs.keySet().iterator().next());
+            activeJob = job;
+            executor.submit(() -> run(job));
+            return job.toDto();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<HierarchyRebuildJobDto> find(String jobId) {
+        lock.lock();
+        try {
+            Job job = jobs.get(jobId);
+            return job != null ? Optional.of(job.toDto()) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(Job job) {
+        job.start();
+        currentRows.set(0);
+        currentRowsPerSecond = 0;
+        Timer.Sample sample = Timer.start();
+        try {
+            long rows = hierarchyJdbcService.rebuildFullHierarchy(written -> {
+                job.progress(written);
+                currentRows.set(written);
+                currentRowsPerSecond = job.rowsPerSecond();
+            });
+            job.finish(rows, null);
+            completedCounter.increment();
+        } catch (Exception e) {
+            log.error("hierarchy rebuild {} failed", job.id, e);
+            job.finish(job.rows, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            failedCounter.increment();
+        } finally {
+            sample.stop(rebuildTimer);
+            currentRowsPerSecond = job.rowsPerSecond();
+            lock.lock();
+            try {
+                activeJob = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Job {
+        final String id;
+        final Instant submittedAt = Instant.now();
+        volatile String status = "QUEUED";
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile long rows;
+        volatile String error;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            status = "RUNNING";
+        }
+
+        void progress(long written) {
+            rows = written;
+        }
+
+        void finish(long written, String failure) {
+            rows = written;
+            error = failure;
+            finishedAt = Instant.now();
+            status = failure == null ? "COMPLETED" : "FAILED";
+        }
+
+        double rowsPerSecond() {
+            if (startedAt == null) return 0;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return rows * 1000.0 / millis;
+        }
+
+        HierarchyRebuildJobDto toDto() {
+            return new HierarchyRebuildJobDto(id, status, rows, rowsPerSecond(), submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.enums.RoleName;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * memberId -> highest role, kept up to date on assignment writes and hierarchy moves
+ * so that the highest-role lookups are a single hash lookup.
+ * Selection is the same as before: committee memberships first, then the shallowest
+ * ministry in the tree, then role priority. Reloads and member refreshes read the database
+ * under the write lock, so an older read can never be published over a newer one.
+ */
+@Component
+public class HighestRoleIndex {
+
+    public record HighestRole(String memberId, RoleName role, UUID ministryId, String ministryName, int depth) {
+        public Map<String, Object> toMap() {
+            // an assignment may have no role: the entry is then null
+            Map<String, Object> map = new LinkedHashMap<>(8);
+            map.put("memberId", memberId);
+            map.put("role", role);
+            map.put("ministryId", ministryId);
+            map.put("ministryName", ministryName != null ? ministryName : "");
+            return map;
+        }
+    }
+
+    private record Membership(UUID ministryId, RoleName role, boolean committee) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MinistryHierarchyIndex hierarchyIndex;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // source data, only mutated under writeLock
+    private final Map<String, List<Membership>> membershipsByMember = new HashMap<>();
+    private final Map<UUID, Set<String>> membersByMinistry = new HashMap<>();
+    private final Map<UUID, String> ministryNames = new ConcurrentHashMap<>();
+
+    // derived, read lock-free
+    private final Map<String, HighestRole> highestRoles = new ConcurrentHashMap<>();
+
+    public HighestRoleIndex(NamedParameterJdbcTemplate jdbc, MinistryHierarchyIndex hierarchyIndex) {
+        this.jdbc = jdbc;
+        this.hierarchyIndex = hierarchyIndex;
+    }
+
+    public Optional<HighestRole> get(String memberId) {
+        return Optional.ofNullable(highestRoles.get(memberId));
+    }
+
+    public Map<String, HighestRole> getAll(Collection<String> memberIds) {
+        Map<String, HighestRole> result = new HashMap<>(memberIds.size() * 2);
+        for (String memberId : memberIds) {
+            HighestRole role = highestRoles.get(memberId);
+            if (role != null) result.put(memberId, role);
+        }
+        return result;
+    }
+
+    // runs after the hierarchy index has loaded: depths come from there
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        writeLock.lock();
+        try {
+            Map<UUID, String> names = new HashMap<>();
+            jdbc.query("SELECT id, name FROM ministries",
+                    rs -> { names.put(rs.getObject("id", UUID.class), rs.getString("name")); });
+            Map<String, List<Membership>> memberships = new HashMap<>();
+            jdbc.query("SELECT ministry_id, member_id, role, committee FROM ministry_members WHERE active",
+                    rs -> {
+                        memberships.computeIfAbsent(rs.getString("member_id"), k -> new ArrayList<>()).add(membership(rs));
+                    });
+
+            ministryNames.keySet().retainAll(names.keySet());
+            ministryNames.putAll(names);
+            membershipsByMember.clear();
+            membersByMinistry.clear();
+            memberships.forEach(this::replaceMemberships);
+            // readers keep seeing the previous roles until each is replaced; only the gone ones are dropped
+            highestRoles.keySet().retainAll(memberships.keySet());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads the active memberships of the given members (after assignments were written).
+     */
+    public void refreshMembers(Collection<String> memberIds) {
+        if (memberIds.isEmpty()) return;
+        writeLock.lock();
+        try {
+            Map<String, List<Membership>> memberships = new HashMap<>();
+            for (String memberId : memberIds) memberships.put(memberId, new ArrayList<>());
+            jdbc.query("SELECT ministry_id, member_id, role, committee FROM ministry_members WHERE active AND member_id IN (:ids)",
+                    new MapSqlParameterSource("ids", memberIds),
+                    rs -> { memberships.get(rs.getString("member_id")).add(membership(rs)); });
+            memberships.forEach(this::replaceMemberships);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Ministry created or renamed.
+     */
+    public void onMinistrySaved(UUID ministryId, String name) {
+        writeLock.lock();
+        try {
+            String previous = ministryNames.put(ministryId, name);
+            if (Objects.equals(previous, name)) return;
+            recompute(membersByMinistry.getOrDefault(ministryId, Set.of()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Depths changed for these ministries (subtree move): recompute their members.
+     */
+    public void onMinistriesMoved(Collection<UUID> ministryIds) {
+        writeLock.lock();
+        try {
+            Set<String> affected = new HashSet<>();
+            for (UUID ministryId : ministryIds) affected.addAll(membersByMinistry.getOrDefault(ministryId, Set.of()));
+            recompute(affected);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- internals (writeLock held)
+
+    private void replaceMemberships(String memberId, List<Membership> memberships) {
+        List<Membership> previous = membershipsByMember.remove(memberId);
+        if (previous != null) {
+            for (Membership m : previous) {
+                Set<String> members = membersByMinistry.get(m.ministryId());
+                if (members != null) members.remove(memberId);
+            }
+        }
+        if (!memberships.isEmpty()) {
+            membershipsByMember.put(memberId, memberships);
+            for (Membership m : memberships) {
+                membersByMinistry.computeIfAbsent(m.ministryId(), k -> new HashSet<>()).add(memberId);
+            }
+        }
+        recompute(List.of(memberId));
+    }
+
+    private void recompute(Collection<String> memberIds) {
+        for (String memberId : memberIds) {
+            HighestRole best = select(memberId, membershipsByMember.getOrDefault(memberId, List.of()));
+            if (best == null) highestRoles.remove(memberId);
+            else highestRoles.put(memberId, best);
+        }
+    }
+
+    private HighestRole select(String memberId, List<Membership> memberships) {
+        boolean anyCommittee = false;
+        for (Membership m : memberships) anyCommittee |= m.committee();
+
+        Membership best = null;
+        int bestDepth = Integer.MAX_VALUE;
+        int bestPriority = Integer.MAX_VALUE;
+        for (Membership m : memberships) {
+            if (anyCommittee && !m.committee()) continue;
+            int depth = hierarchyIndex.depth(m.ministryId());
+            if (depth < 0) depth = Integer.MAX_VALUE;
+            int priority = RoleName.priorityOf(m.role());
+            if (best == null || depth < bestDepth || (depth == bestDepth && priority < bestPriority)) {
+                best = m;
+                bestDepth = depth;
+                bestPriority = priority;
+            }
+        }
+        if (best == null) return null;
+        return new HighestRole(memberId, best.role(), best.ministryId(), ministryNames.get(best.ministryId()), bestDepth);
+    }
+
+    private static Membership membership(ResultSet rs) throws SQLException {
+        String role = rs.getString("role");
+        return new Membership(rs.getObject("ministry_id", UUID.class),
+                role != null ? RoleName.valueOf(role) : null,
+                rs.getBoolean("committee"));
+    }
+}
@@ -0,0 +1,309 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.client.MemberServiceFeignClient;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local replica of the member attributes ministry {@link Criteria} filter on (gender, age group,
+ * marital status), so eligible members are found without calling member-service. Members are
+ * dense int ordinals; every attribute value has a compressed (Roaring) bitmap of the members
+ * holding it, and a criteria is the AND of at most three of them. Loaded from a member-service snapshot at
+ * startup and every resync-interval, and kept current by member-change events in between.
+ * Readers work on an immutable snapshot, like {@link MinistryHierarchyIndex}.
+ */
+@Component
+public class MemberAttributeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberAttributeIndex.class);
+
+    private static final String ALL = "ALL";
+    private static final int KID_AGE_LIMIT = 12; // KID < 12 <= ADULT, as documented on Criteria
+    private static final int UNKNOWN_BIRTHDAY = Integer.MIN_VALUE;
+
+    private final MemberServiceFeignClient memberServiceFeignClient;
+    private final MemberServiceCache memberServiceCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // mutable replica, only touched under writeLock; removed members leave a null id and a free ordinal.
+    // Bitmaps are updated in place per member and cloned on publish, so an event costs O(bitmap size).
+    // ordinals is also read by snapshots, which check it against their own ids
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private String[] ids = new String[16];
+    private String[] genders = new String[16];
+    private String[] maritalStatuses = new String[16];
+    private int[] birthDays = new int[16]; // epoch day
+    private int size;
+    private final RoaringBitmap replicated = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byGender = new HashMap<>();
+    private final Map<String, RoaringBitmap> byMaritalStatus = new HashMap<>();
+    private final RoaringBitmap kids = new RoaringBitmap();
+    private final RoaringBitmap adults = new RoaringBitmap();
+    private LocalDate ageGroupsAsOf = LocalDate.MIN;
+    private boolean loaded;
+    private Set<String> changedDuringResync; // non-null while a snapshot is being fetched
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public MemberAttributeIndex(MemberServiceFeignClient memberServiceFeignClient, MemberServiceCache memberServiceCache,
+                                ObjectMapper objectMapper,
+                                @Value("${app.member-replica.enabled:true}") boolean enabled) {
+        this.memberServiceFeignClient = memberServiceFeignClient;
+        this.memberServiceCache = memberServiceCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * False until the first snapshot has loaded; callers then fall back to member-service.
+     */
+    public boolean isLoaded() {
+        return snapshot.loaded;
+    }
+
+    public int size() {
+        return snapshot.members.getCardinality();
+    }
+
+    /**
+     * Full resync from member-service. Members changed by events while the snapshot is in
+     * flight keep their event state, which is newer than the snapshot's.
+     */
+    @Scheduled(initialDelayString = "${app.member-replica.initial-delay:0s}",
+               fixedDelayString = "${app.member-replica.resync-interval:1h}")
+    public void resync() {
+        if (!enabled) return;
+        writeLock.lock();
+        try {
+            changedDuringResync = new HashSet<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        MemberServiceCache.Generation generation = memberServiceCache.generation();
+        List<MemberDto> members;
+        try {
+            members = memberServiceFeignClient.getAllMembers(ALL, ALL, ALL).stream()
+                    .map(m -> objectMapper.convertValue(m, MemberDto.class))
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("Member snapshot failed, keeping {} replicated members", size(), e);
+            members = null;
+        }
+
+        writeLock.lock();
+        try {
+            Set<String> changed = changedDuringResync;
+            changedDuringResync = null;
+            if (members == null) return;
+            if (members.isEmpty()) {
+                // also what a fallback returns: never taken as "every member is gone"
+                log.warn("Member snapshot was empty, keeping {} replicated members", ordinals.size());
+                return;
+            }
+            Set<String> snapshotIds = new HashSet<>(members.size() * 2);
+            for (MemberDto member : members) {
+                if (member.getId() == null) continue;
+                snapshotIds.add(member.getId());
+                if (!changed.contains(member.getId())) put(member);
+            }
+            for (String id : List.copyOf(ordinals.keySet())) {
+                if (!snapshotIds.contains(id) && !changed.contains(id)) delete(id);
+            }
+            loaded = true;
+            // bulk-loaded bitmaps compress better with run containers
+            replicated.runOptimize();
+            byGender.values().forEach(RoaringBitmap::runOptimize);
+            byMaritalStatus.values().forEach(RoaringBitmap::runOptimize);
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+        // the snapshot carries full profiles: warm the member cache for /details and potential members
+        memberServiceCache.putAll(members, generation);
+        log.info("Member replica resynced: {} members", size());
+    }
+
+    /**
+     * Applies a batch of member events (fresh profiles and removals) and publishes once.
+     */
+    public void apply(Collection<MemberDto> upserts, Collection<String> removals) {
+        if (upserts.isEmpty() && removals.isEmpty()) return;
+        writeLock.lock();
+        try {
+            boolean changed = false;
+            for (MemberDto member : upserts) {
+                if (member.getId() == null) continue;
+                if (changedDuringResync != null) changedDuringResync.add(member.getId());
+                put(member);
+                changed = true;
+            }
+            for (String memberId : removals) {
+                if (changedDuringResync != null) changedDuringResync.add(memberId);
+                changed |= delete(memberId);
+            }
+            if (changed) publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // age groups depend on today's date: the first read of a new day rebuilds them
+    Snapshot current() {
+        Snapshot s = snapshot;
+        if (s.asOf.equals(LocalDate.now())) return s;
+        writeLock.lock();
+        try {
+            if (!snapshot.asOf.equals(LocalDate.now())) publish();
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- internals (writeLock held)
+
+    private void put(MemberDto member) {
+        Integer ordinal = ordinals.get(member.getId());
+        if (ordinal == null) {
+            ordinal = freeOrdinals.isEmpty() ? size++ : freeOrdinals.pop();
+            if (ordinal == ids.length) grow();
+            ids[ordinal] = member.getId();
+            ordinals.put(member.getId(), ordinal);
+            replicated.add(ordinal);
+        } else {
+            clearAttributes(ordinal);
+        }
+        genders[ordinal] = normalize(member.getGender());
+        maritalStatuses[ordinal] = normalize(member.getMaritalStatus());
+        birthDays[ordinal] = member.getBirthDate() != null ? (int) member.getBirthDate().toEpochDay() : UNKNOWN_BIRTHDAY;
+        if (genders[ordinal] != null) byGender.computeIfAbsent(genders[ordinal], k -> new RoaringBitmap()).add(ordinal);
+        if (maritalStatuses[ordinal] != null) {
+            byMaritalStatus.computeIfAbsent(maritalStatuses[ordinal], k -> new RoaringBitmap()).add(ordinal);
+        }
+        if (!ageGroupsAsOf.equals(LocalDate.MIN)) addAgeGroup(ordinal, kidsBornAfter(ageGroupsAsOf));
+    }
+
+    private boolean delete(String memberId) {
+        Integer ordinal = ordinals.remove(memberId);
+        if (ordinal == null) return false;
+        clearAttributes(ordinal);
+        replicated.remove(ordinal);
+        ids[ordinal] = null;
+        genders[ordinal] = null;
+        maritalStatuses[ordinal] = null;
+        freeOrdinals.push(ordinal);
+        return true;
+    }
+
+    private void clearAttributes(int ordinal) {
+        if (genders[ordinal] != null) byGender.get(genders[ordinal]).remove(ordinal);
+        if (maritalStatuses[ordinal] != null) byMaritalStatus.get(maritalStatuses[ordinal]).remove(ordinal);
+        kids.remove(ordinal);
+        adults.remove(ordinal);
+    }
+
+    private void addAgeGroup(int ordinal, int kidsBornAfter) {
+        if (birthDays[ordinal] != UNKNOWN_BIRTHDAY) (birthDays[ordinal] > kidsBornAfter ? kids : adults).add(ordinal);
+    }
+
+    private static int kidsBornAfter(LocalDate asOf) {
+        return (int) asOf.minusYears(KID_AGE_LIMIT).toEpochDay();
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        genders = Arrays.copyOf(genders, capacity);
+        maritalStatuses = Arrays.copyOf(maritalStatuses, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+    }
+
+    private void publish() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(ageGroupsAsOf)) {
+            // a birthday can move a member from KID to ADULT: regroup everyone once a day
+            ageGroupsAsOf = today;
+            int kidsBornAfter = kidsBornAfter(today);
+            kids.clear();
+            adults.clear();
+            replicated.forEach((int ordinal) -> addAgeGroup(ordinal, kidsBornAfter));
+        }
+        snapshot = new Snapshot(loaded, today, ordinals, Arrays.copyOf(ids, size), replicated.clone(),
+                copy(byGender), copy(byMaritalStatus), Map.of("KID", kids.clone(), "ADULT", adults.clone()));
+    }
+
+    private static Map<String, RoaringBitmap> copy(Map<String, RoaringBitmap> bitmaps) {
+        Map<String, RoaringBitmap> copy = new HashMap<>(bitmaps.size() * 2);
+        bitmaps.forEach((value, holders) -> copy.put(value, holders.clone()));
+        return copy;
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * One published state of the replica. Bitmaps are shared between readers and never mutated;
+     * attribute bitmaps are subsets of members, so a criteria needs no AND with members.
+     */
+    record Snapshot(boolean loaded, LocalDate asOf, Map<String, Integer> ordinals, String[] ids, RoaringBitmap members,
+                    Map<String, RoaringBitmap> byGender, Map<String, RoaringBitmap> byMaritalStatus,
+                    Map<String, RoaringBitmap> byAgeGroup) {
+
+        static final Snapshot EMPTY = new Snapshot(false, LocalDate.MIN, Map.of(), new String[0], new RoaringBitmap(),
+                Map.of(), Map.of(), Map.of());
+
+        /**
+         * Members matching the criteria values (null / ALL for no restriction); the result may
+         * be one of the snapshot's own bitmaps.
+         */
+        RoaringBitmap eligible(String gender, String ageGroup, String maritalStatus) {
+            List<RoaringBitmap> restrictions = new ArrayList<>(3);
+            if (!restrict(restrictions, byGender, gender)
+                || !restrict(restrictions, byAgeGroup, ageGroup)
+                || !restrict(restrictions, byMaritalStatus, maritalStatus)) {
+                return new RoaringBitmap();
+            }
+            return switch (restrictions.size()) {
+                case 0 -> members;
+                case 1 -> restrictions.get(0);
+                default -> FastAggregation.and(restrictions.iterator());
+            };
+        }
+
+        /** Ordinal of the member in this snapshot, or -1 when it is not replicated. */
+        int ordinal(String memberId) {
+            // ordinals is the live map: an ordinal freed or reused since this snapshot does not match ids
+            Integer ordinal = ordinals.get(memberId);
+            return ordinal != null && ordinal < ids.length && memberId.equals(ids[ordinal]) ? ordinal : -1;
+        }
+
+        // ALL (or no value) keeps everyone; false when nobody holds the value
+        private static boolean restrict(List<RoaringBitmap> restrictions, Map<String, RoaringBitmap> index, String value) {
+            String key = normalize(value);
+            if (key == null || ALL.equals(key)) return true;
+            RoaringBitmap holders = index.get(key);
+            if (holders == null) return false;
+            restrictions.add(holders);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.ministry_service.ministry.application;
+
+/**
+ * The member replica has not loaded its first snapshot yet, so member-wide eligibility
+ * questions cannot be answered; a retry shortly after startup will be.
+ */
+public class MemberReplicaNotReadyException extends RuntimeException {
+
+    public MemberReplicaNotReadyException() {
+        super("Member replica has not loaded yet");
+    }
+}
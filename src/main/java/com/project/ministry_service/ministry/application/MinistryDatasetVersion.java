@@ -0,0 +1,96 @@
+package com.project.ministry_service.ministry.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for what the ministry read endpoints render: the ministries dataset
+ * (ministries, assignments, hierarchy) and the member profiles embedded in /details.
+ * The counters live in ministry_dataset_version, shared by all instances. Writers bump the
+ * ministries version in their own transaction and publish it locally after commit, so a
+ * reader that saw version n has seen every write before it. Writes made through other
+ * instances are picked up by polling the row every app.dataset-version.poll-interval.
+ * The counters only move forward.
+ */
+@Component
+public class MinistryDatasetVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(MinistryDatasetVersion.class);
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final AtomicLong ministries = new AtomicLong();
+    private final AtomicLong members = new AtomicLong();
+
+    public MinistryDatasetVersion(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public long ministries() {
+        return ministries.get();
+    }
+
+    public long members() {
+        return members.get();
+    }
+
+    /**
+     * Bumps the ministries version as the last statement of the surrounding transaction (once,
+     * however many writes it makes), so the row lock is held only through the commit and never
+     * taken before another lock. This instance sees the new version once the transaction commits.
+     */
+    public void ministriesChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ministries.accumulateAndGet(bump("ministries"), Math::max);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof MinistriesBump) return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new MinistriesBump());
+    }
+
+    public void membersChanged() {
+        members.accumulateAndGet(bump("members"), Math::max);
+    }
+
+    private long bump(String counter) {
+        return jdbc.queryForObject("UPDATE ministry_dataset_version SET " + counter + " = " + counter + " + 1 WHERE id = 1 RETURNING "
+                + counter, Map.of(), Long.class);
+    }
+
+    @Scheduled(fixedDelayString = "${app.dataset-version.poll-interval:1s}")
+    public void poll() {
+        try {
+            jdbc.query("SELECT ministries, members FROM ministry_dataset_version WHERE id = 1", rs -> {
+                ministries.accumulateAndGet(rs.getLong("ministries"), Math::max);
+                members.accumulateAndGet(rs.getLong("members"), Math::max);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not read the dataset version, keeping {}/{}: {}", ministries.get(), members.get(), e.getMessage());
+        }
+    }
+
+    private class MinistriesBump implements TransactionSynchronization {
+
+        private long version;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            version = bump("ministries");
+        }
+
+        @Override
+        public void afterCommit() {
+            ministries.accumulateAndGet(version, Math::max);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.embeddable.MinistryMemberDto;
+import com.project.ministry_service.ministry.application.MinistryReadJdbcService.AssignmentRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Read model for /details: one ministry_details_view row per ministry holding its ready-made
+ * members block (leader, committee, unit, with member profiles) as jsonb, so the details read
+ * is a primary-key lookup with no member-service call and no grouping.
+ * <p>
+ * An assignment write deletes the ministry's row in its own transaction and queues the rebuild,
+ * which runs after the commit on a background thread: the member-service lookup stays off the
+ * request, and until the row is back the details path assembles that ministry live. Member
+ * events rebuild the rows of the ministries of those members directly. Each rebuild records
+ * when it read its sources and never overwrites a row built from a later read. A periodic
+ * repair rebuilds ministries without a row (not built yet, e.g. right after an import), rows
+ * that lack members member-service could not resolve, and rows older than max-age, which
+ * bounds how long a profile change without a member event stays in the view.
+ */
+@Component
+public class MinistryDetailsView {
+
+    private static final Logger log = LoggerFactory.getLogger(MinistryDetailsView.class);
+
+    private static final int REFRESH_CHUNK = 500;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MinistryReadJdbcService ministryReadJdbcService;
+    private final MemberServiceCache memberServiceCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate newTransaction;
+    private final Duration maxAge;
+    private final boolean enabled;
+
+    // ministries whose rebuild is queued; one background thread drains them in batches
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "details-view-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MinistryDetailsView(NamedParameterJdbcTemplate jdbc, MinistryReadJdbcService ministryReadJdbcService,
+                               MemberServiceCache memberServiceCache, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.details-view.max-age:1h}") Duration maxAge,
+                               @Value("${app.details-view.enabled:true}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.ministryReadJdbcService = ministryReadJdbcService;
+        this.memberServiceCache = memberServiceCache;
+        this.objectMapper = objectMapper;
+        // rows are written from after-commit hooks too, where the finished transaction cannot take writes
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAge = maxAge;
+        this.enabled = enabled;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdown();
+    }
+
+    /**
+     * The stored members blocks of those ministries that have a complete row; a row missing
+     * members member-service could not resolve is left to the caller to assemble live.
+     */
+    public Map<UUID, MinistryMemberDto> find(Collection<UUID> ministryIds) {
+        if (!enabled || ministryIds.isEmpty()) return Map.of();
+        Map<UUID, MinistryMemberDto> result = new HashMap<>(ministryIds.size() * 2);
+        jdbc.query("""
+                SELECT ministry_id, members FROM ministry_details_view
+                WHERE ministry_id = ANY(CAST(:ids AS uuid[])) AND missing_members = 0
+                """,
+                new MapSqlParameterSource("ids", ministryIds.toArray(UUID[]::new)),
+                rs -> { result.put(rs.getObject("ministry_id", UUID.class), read(rs.getString("members"))); });
+        return result;
+    }
+
+    /**
+     * Deletes the rows of these ministries in the caller's transaction, so once it commits the
+     * details path no longer serves them; call {@link #refreshLater} after the commit.
+     */
+    public void invalidate(Collection<UUID> ministryIds) {
+        if (!enabled || ministryIds.isEmpty()) return;
+        jdbc.update("DELETE FROM ministry_details_view WHERE ministry_id = ANY(CAST(:ids AS uuid[]))",
+                new MapSqlParameterSource("ids", ministryIds.toArray(UUID[]::new)));
+    }
+
+    /**
+     * Queues a rebuild of these ministries on the background refresher; ministries queued
+     * while a rebuild runs are taken together by the next one.
+     */
+    public void refreshLater(Collection<UUID> ministryIds) {
+        if (!enabled || ministryIds.isEmpty()) return;
+        pending.addAll(ministryIds);
+        refresher.execute(() -> {
+            List<UUID> batch = List.copyOf(pending);
+            if (batch.isEmpty()) return;
+            pending.removeAll(batch);
+            refresh(batch);
+        });
+    }
+
+    /**
+     * Rebuilds the rows of these ministries from their active assignments and the member cache.
+     */
+    public void refresh(Collection<UUID> ministryIds) {
+        if (!enabled || ministryIds.isEmpty()) return;
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(ministryIds));
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK, ids.size()));
+            try {
+                refreshChunk(chunk);
+            } catch (RuntimeException e) {
+                // the caller's change is committed: drop the now stale rows, the details path
+                // assembles those ministries live until the repair rebuilds them
+                log.warn("Ministry details view refresh of {} ministries failed: {}", chunk.size(), e.getMessage());
+                drop(chunk);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the rows of every ministry these members are (or were) assigned to.
+     */
+    public void refreshForMembers(Collection<String> memberIds) {
+        if (!enabled || memberIds.isEmpty()) return;
+        refresh(jdbc.queryForList(
+                "SELECT DISTINCT ministry_id FROM ministry_members WHERE member_id = ANY(CAST(:ids AS varchar[]))",
+                new MapSqlParameterSource("ids", memberIds.toArray(String[]::new)), UUID.class));
+    }
+
+    @Scheduled(initialDelayString = "${app.details-view.initial-delay:5s}",
+               fixedDelayString = "${app.details-view.repair-interval:5m}")
+    public void repair() {
+        if (!enabled) return;
+        List<UUID> stale = jdbc.queryForList("""
+                SELECT m.id FROM ministries m
+                LEFT JOIN ministry_details_view v ON v.ministry_id = m.id
+                WHERE v.ministry_id IS NULL OR v.missing_members > 0 OR v.refreshed_at < :staleBefore
+                """, new MapSqlParameterSource("staleBefore", Timestamp.from(Instant.now().minus(maxAge))), UUID.class);
+        if (stale.isEmpty()) return;
+        refresh(stale);
+        log.info("Ministry details view: rebuilt {} ministries", stale.size());
+    }
+
+    /**
+     * Groups one ministry's assignments into leader / committee / unit. Each member gets its own
+     * copy of the profile carrying the ministry role; the leader is the committee member with the
+     * highest role. Assignments whose member is not in members are left out.
+     */
+    public static MinistryMemberDto assemble(List<AssignmentRow> assignments, Map<String, MemberDto> members) {
+        MinistryMemberDto ministryMemberDto = new MinistryMemberDto();
+        ministryMemberDto.setUnit(new ArrayList<>());
+        ministryMemberDto.setCommittee(new ArrayList<>());
+
+        MemberDto leader = null;
+        int leaderPriority = Integer.MAX_VALUE;
+
+        for (AssignmentRow mm : assignments) {
+            MemberDto original = members.get(mm.memberId());
+            if (original == null) continue;
+
+            // Build a new DTO directly for this ministry
+            MemberDto dto = MemberDto.builder()
+                    .id(original.getId())
+                    .name(original.getName())
+                    .firstName(original.getFirstName())
+                    .lastName(original.getLastName())
+                    .gender(original.getGender())
+                    .age(original.getAge())
+                    .maritalStatus(original.getMaritalStatus())
+                    .photoUrl(original.getPhotoUrl())
+                    .phone(original.getPhone())
+                    .role(mm.committee() ? mm.role() : null)
+                    .memberRole(!mm.committee() ? mm.role() : null)
+                    .build();
+
+            if (mm.committee()) {
+                ministryMemberDto.getCommittee().add(dto);
+                int priority = RoleName.priorityOf(mm.role());
+                if (priority < leaderPriority) {
+                    leaderPriority = priority;
+                    leader = dto;
+                }
+            } else {
+                ministryMemberDto.getUnit().add(dto);
+            }
+        }
+
+        ministryMemberDto.setLeader(leader);
+        return ministryMemberDto;
+    }
+
+    private void refreshChunk(List<UUID> ministryIds) {
+        Timestamp readAt = Timestamp.from(Instant.now());
+        List<AssignmentRow> assignments = ministryReadJdbcService.findAssignments(ministryIds);
+        Set<String> memberIds = assignments.stream().map(AssignmentRow::memberId).collect(Collectors.toSet());
+        Map<String, MemberDto> members = memberServiceCache.getMembersByIds(memberIds).stream()
+                .collect(Collectors.toMap(MemberDto::getId, m -> m, (a, b) -> a));
+        Map<UUID, List<AssignmentRow>> byMinistry = assignments.stream()
+                .collect(Collectors.groupingBy(AssignmentRow::ministryId));
+
+        List<SqlParameterSource> rows = new ArrayList<>(ministryIds.size());
+        for (UUID ministryId : ministryIds) {
+            List<AssignmentRow> ministryAssignments = byMinistry.getOrDefault(ministryId, List.of());
+            MinistryMemberDto dto = assemble(ministryAssignments, members);
+            rows.add(new MapSqlParameterSource()
+                    .addValue("ministryId", ministryId)
+                    .addValue("members", write(dto))
+                    .addValue("missing", ministryAssignments.size() - dto.getUnit().size() - dto.getCommittee().size())
+                    .addValue("readAt", readAt));
+        }
+        newTransaction.executeWithoutResult(status -> jdbc.batchUpdate("""
+                INSERT INTO ministry_details_view (ministry_id, members, missing_members, refreshed_at)
+                VALUES (:ministryId, CAST(:members AS jsonb), :missing, :readAt)
+                ON CONFLICT (ministry_id) DO UPDATE
+                    SET members = EXCLUDED.members, missing_members = EXCLUDED.missing_members,
+                        refreshed_at = EXCLUDED.refreshed_at
+                    WHERE ministry_details_view.refreshed_at <= EXCLUDED.refreshed_at
+                """, rows.toArray(SqlParameterSource[]::new)));
+    }
+
+    private void drop(List<UUID> ministryIds) {
+        try {
+            newTransaction.executeWithoutResult(status -> jdbc.update(
+                    "DELETE FROM ministry_details_view WHERE ministry_id = ANY(CAST(:ids AS uuid[]))",
+                    new MapSqlParameterSource("ids", ministryIds.toArray(UUID[]::new))));
+        } catch (RuntimeException e) {
+            log.error("Could not drop {} stale ministry details rows", ministryIds.size(), e);
+        }
+    }
+
+    private String write(MinistryMemberDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MinistryMemberDto read(String json) {
+        try {
+            return objectMapper.readValue(json, MinistryMemberDto.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
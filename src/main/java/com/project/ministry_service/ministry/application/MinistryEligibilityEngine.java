@@ -0,0 +1,147 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.util.CriteriaJson;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Which members qualify for which ministries, answered from the {@link MemberAttributeIndex}
+ * bitmaps. Ministries are grouped by their (normalized) criteria and each distinct criteria is
+ * evaluated once, as a bitmap AND; the per-ministry questions are then lookups into those
+ * bitmaps. The evaluation is kept until the ministries dataset version or the member replica
+ * changes.
+ */
+@Component
+public class MinistryEligibilityEngine {
+
+    private static final String ALL = "ALL";
+
+    /** Criteria with upper-case values and ALL for anything unset, so equal filters group together. */
+    record CriteriaKey(String gender, String ageGroup, String maritalStatus) {
+        static CriteriaKey of(Criteria criteria) {
+            if (criteria == null) return new CriteriaKey(ALL, ALL, ALL);
+            return new CriteriaKey(normalize(criteria.getGender()), normalize(criteria.getAgeGroup()),
+                    normalize(criteria.getMaritalStatus()));
+        }
+
+        private static String normalize(String value) {
+            return value == null || value.isBlank() ? ALL : value.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    private record MinistryCriteria(long version, Map<UUID, CriteriaKey> byMinistry,
+                                    Map<CriteriaKey, List<UUID>> byCriteria) {}
+
+    private record Evaluation(MinistryCriteria ministries, MemberAttributeIndex.Snapshot members,
+                              Map<CriteriaKey, RoaringBitmap> eligible) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MemberAttributeIndex memberAttributeIndex;
+    private final MinistryDatasetVersion datasetVersion;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile MinistryCriteria ministries;
+    private volatile Evaluation evaluation;
+
+    public MinistryEligibilityEngine(NamedParameterJdbcTemplate jdbc, MemberAttributeIndex memberAttributeIndex,
+                                     MinistryDatasetVersion datasetVersion) {
+        this.jdbc = jdbc;
+        this.memberAttributeIndex = memberAttributeIndex;
+        this.datasetVersion = datasetVersion;
+    }
+
+    /**
+     * False until the member replica has loaded its first snapshot.
+     */
+    public boolean isReady() {
+        return memberAttributeIndex.isLoaded();
+    }
+
+    /**
+     * Ids of the members eligible for the ministry, in ordinal order.
+     */
+    public List<String> eligibleMemberIds(UUID ministryId) {
+        Evaluation e = evaluation();
+        CriteriaKey key = e.ministries().byMinistry().get(ministryId);
+        if (key == null) throw new NoSuchElementException("Ministry not found");
+        RoaringBitmap eligible = e.eligible().get(key);
+        String[] ids = e.members().ids();
+        List<String> result = new ArrayList<>(eligible.getCardinality());
+        eligible.forEach((int ordinal) -> result.add(ids[ordinal]));
+        return result;
+    }
+
+    /**
+     * Ministries whose criteria the member meets (none for a member the replica does not know).
+     */
+    public List<UUID> ministriesEligibleFor(String memberId) {
+        Evaluation e = evaluation();
+        int ordinal = e.members().ordinal(memberId);
+        if (ordinal < 0) return List.of();
+        List<UUID> result = new ArrayList<>();
+        e.eligible().forEach((key, eligible) -> {
+            if (eligible.contains(ordinal)) result.addAll(e.ministries().byCriteria().get(key));
+        });
+        return result;
+    }
+
+    /**
+     * Number of eligible members per ministry.
+     */
+    public Map<UUID, Integer> eligibleCounts() {
+        Evaluation e = evaluation();
+        Map<UUID, Integer> counts = new HashMap<>(e.ministries().byMinistry().size() * 2);
+        e.eligible().forEach((key, eligible) -> {
+            int count = eligible.getCardinality();
+            for (UUID ministryId : e.ministries().byCriteria().get(key)) counts.put(ministryId, count);
+        });
+        return counts;
+    }
+
+    private Evaluation evaluation() {
+        MinistryCriteria m = ministryCriteria();
+        MemberAttributeIndex.Snapshot members = memberAttributeIndex.current();
+        Evaluation e = evaluation;
+        if (e != null && e.ministries() == m && e.members() == members) return e;
+
+        // at most three bitmaps ANDed per distinct criteria: cheap enough for the caller's thread;
+        // racing callers compute the same result
+        Map<CriteriaKey, RoaringBitmap> eligible = new HashMap<>(m.byCriteria().size() * 2);
+        for (CriteriaKey key : m.byCriteria().keySet()) {
+            eligible.put(key, members.eligible(key.gender(), key.ageGroup(), key.maritalStatus()));
+        }
+        e = new Evaluation(m, members, eligible);
+        evaluation = e;
+        return e;
+    }
+
+    // reloaded on the first use after a write; the version is read first, so a write that
+    // commits during the query only causes one more reload
+    private MinistryCriteria ministryCriteria() {
+        long version = datasetVersion.ministries();
+        MinistryCriteria m = ministries;
+        if (m != null && m.version() == version) return m;
+        loadLock.lock();
+        try {
+            m = ministries;
+            if (m != null && m.version() == version) return m;
+            Map<UUID, CriteriaKey> byMinistry = new HashMap<>();
+            jdbc.query("SELECT id, criteria FROM ministries", rs -> {
+                byMinistry.put(rs.getObject("id", UUID.class),
+                        CriteriaKey.of(CriteriaJson.fromJson(rs.getString("criteria"))));
+            });
+            Map<CriteriaKey, List<UUID>> byCriteria = new HashMap<>();
+            byMinistry.forEach((ministryId, key) -> byCriteria.computeIfAbsent(key, k -> new ArrayList<>()).add(ministryId));
+            m = new MinistryCriteria(version, byMinistry, byCriteria);
+            ministries = m;
+            return m;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
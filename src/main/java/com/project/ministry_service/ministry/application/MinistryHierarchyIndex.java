@@ -0,0 +1,325 @@
+package com.project.ministry_service.ministry.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the ministry tree, loaded from ministries.parent_id at startup.
+ * Nodes are dense int ordinals with a parent array and a pre-order layout: every node has an
+ * enter position and a subtree size, so its subtree is one contiguous range and ancestor
+ * checks and subtree listings are O(1) / O(size) without touching Postgres. The layout is
+ * maintained incrementally under a lock (a new leaf or a moved subtree shifts one range of the
+ * pre-order), and readers work on an immutable snapshot published after each change by copying
+ * the arrays, like {@link MemberAttributeIndex}. A change the tree cannot take as given (unknown
+ * node or parent, a move under its own subtree) means the index missed a write: it reloads.
+ */
+@Component
+public class MinistryHierarchyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MinistryHierarchyIndex.class);
+
+    private static final int NONE = -1;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // mutable tree, only touched under writeLock. ordinals is also read by snapshots, which check
+    // it against their own ids; a reload starts a new map, so a snapshot never sees an ordinal reused
+    private Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    private UUID[] ids = new UUID[16];
+    private int[] parents = new int[16];
+    private int[] depths = new int[16];
+    private int[] enters = new int[16];
+    private int[] sizes = new int[16];
+    private int[] preorder = new int[16];
+    private int size;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public MinistryHierarchyIndex(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Replaces the tree with the one in the database. The query runs under the write lock, so a
+     * change applied meanwhile is either in the rows read or applied on top of them afterwards.
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        writeLock.lock();
+        try {
+            List<UUID[]> rows = jdbc.query("SELECT id, parent_id FROM ministries",
+                    (rs, i) -> new UUID[]{rs.getObject("id", UUID.class), rs.getObject("parent_id", UUID.class)});
+            ordinals = new ConcurrentHashMap<>(rows.size() * 2);
+            size = 0;
+            for (UUID[] row : rows) ordinalOf(row[0]);
+            for (UUID[] row : rows) {
+                Integer parent = row[1] != null ? ordinals.get(row[1]) : null;
+                parents[ordinals.get(row[0])] = parent != null ? parent : NONE;
+            }
+            layout();
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a new node (or re-parents an existing one) under parentId (nullable for roots).
+     */
+    public void addNode(UUID id, UUID parentId) {
+        writeLock.lock();
+        try {
+            Integer parent = parentId != null ? ordinals.get(parentId) : Integer.valueOf(NONE);
+            if (parent == null) {
+                log.warn("Hierarchy index has no parent {} for new ministry {}, reloading", parentId, id);
+                reload();
+                return;
+            }
+            Integer node = ordinals.get(id);
+            if (node != null) {
+                moveOrReload(node, parent);
+                return;
+            }
+            node = ordinalOf(id);
+            placeLeaf(node, parent);
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the subtree rooted at id under newParentId (nullable for roots). Called once the move
+     * has committed, so it never fails: a move the index cannot apply reloads it instead.
+     */
+    public void move(UUID id, UUID newParentId) {
+        writeLock.lock();
+        try {
+            Integer node = ordinals.get(id);
+            Integer newParent = newParentId != null ? ordinals.get(newParentId) : Integer.valueOf(NONE);
+            if (node == null || newParent == null) {
+                log.warn("Hierarchy index does not know ministry {} or {}, reloading", id, newParentId);
+                reload();
+                return;
+            }
+            moveOrReload(node, newParent);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * True when ancestorId is descendantId or one of its ancestors (same semantics as the closure table).
+     */
+    public boolean isAncestor(UUID ancestorId, UUID descendantId) {
+        Snapshot s = snapshot;
+        int a = s.ordinal(ancestorId);
+        int d = s.ordinal(descendantId);
+        return a != NONE && d != NONE && s.contains(a, d);
+    }
+
+    /**
+     * Depth below the root (roots are 0), or -1 for an unknown ministry.
+     */
+    public int depth(UUID id) {
+        Snapshot s = snapshot;
+        int node = s.ordinal(id);
+        return node != NONE ? s.depth()[node] : NONE;
+    }
+
+    public UUID parent(UUID id) {
+        Snapshot s = snapshot;
+        int node = s.ordinal(id);
+        return node != NONE && s.parent()[node] != NONE ? s.ids()[s.parent()[node]] : null;
+    }
+
+    /**
+     * The node itself followed by all of its descendants, in pre-order.
+     */
+    public List<UUID> subtree(UUID rootId) {
+        Snapshot s = snapshot;
+        int root = s.ordinal(rootId);
+        if (root == NONE) return List.of();
+        int from = s.enter()[root];
+        List<UUID> result = new ArrayList<>(s.size()[root]);
+        for (int i = from; i < from + s.size()[root]; i++) result.add(s.ids()[s.preorder()[i]]);
+        return result;
+    }
+
+    /**
+     * The node itself followed by its ancestors up to the root.
+     */
+    public List<UUID> ancestors(UUID id) {
+        Snapshot s = snapshot;
+        int node = s.ordinal(id);
+        if (node == NONE) return List.of();
+        List<UUID> result = new ArrayList<>(s.depth()[node] + 1);
+        for (int n = node; n != NONE; n = s.parent()[n]) result.add(s.ids()[n]);
+        return result;
+    }
+
+    public int size() {
+        return snapshot.ids().length;
+    }
+
+    // ---------------------------------------------------------------- internals (writeLock held)
+
+    private int ordinalOf(UUID id) {
+        Integer existing = ordinals.get(id);
+        if (existing != null) return existing;
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            enters = Arrays.copyOf(enters, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            preorder = Arrays.copyOf(preorder, capacity);
+        }
+        ids[size] = id;
+        parents[size] = NONE;
+        ordinals.put(id, size);
+        return size++;
+    }
+
+    private void moveOrReload(int node, int newParent) {
+        if (newParent == parents[node]) return;
+        if (newParent != NONE && contains(node, newParent)) {
+            log.warn("Hierarchy index cannot move ministry {} under its own subtree, reloading", ids[node]);
+            reload();
+            return;
+        }
+        moveSubtree(node, newParent);
+        publish();
+    }
+
+    private boolean contains(int ancestor, int descendant) {
+        return enters[ancestor] <= enters[descendant] && enters[descendant] < enters[ancestor] + sizes[ancestor];
+    }
+
+    // the newest ordinal becomes the last child of parent (or the last root)
+    private void placeLeaf(int node, int parent) {
+        int placed = size - 1;
+        int at = parent == NONE ? placed : enters[parent] + sizes[parent];
+        System.arraycopy(preorder, at, preorder, at + 1, placed - at);
+        preorder[at] = node;
+        renumber(at, size);
+        parents[node] = parent;
+        depths[node] = parent == NONE ? 0 : depths[parent] + 1;
+        sizes[node] = 1;
+        for (int a = parent; a != NONE; a = parents[a]) sizes[a]++;
+    }
+
+    // cuts the subtree's range out of the pre-order and splices it in after newParent's subtree
+    private void moveSubtree(int node, int newParent) {
+        int from = enters[node];
+        int length = sizes[node];
+        for (int a = parents[node]; a != NONE; a = parents[a]) sizes[a] -= length;
+        int[] block = Arrays.copyOfRange(preorder, from, from + length);
+        System.arraycopy(preorder, from + length, preorder, from, size - from - length);
+        renumber(from, size - length);
+
+        int rest = size - length;
+        int at = newParent == NONE ? rest : enters[newParent] + sizes[newParent];
+        System.arraycopy(preorder, at, preorder, at + length, rest - at);
+        System.arraycopy(block, 0, preorder, at, length);
+        renumber(Math.min(from, at), size);
+        for (int a = newParent; a != NONE; a = parents[a]) sizes[a] += length;
+
+        int depthChange = (newParent == NONE ? 0 : depths[newParent] + 1) - depths[node];
+        for (int n : block) depths[n] += depthChange;
+        parents[node] = newParent;
+    }
+
+    private void renumber(int from, int to) {
+        for (int i = from; i < to; i++) enters[preorder[i]] = i;
+    }
+
+    // full layout from the parent array: iterative DFS from every root
+    private void layout() {
+        int n = size;
+        // child lists as first-child / next-sibling arrays
+        int[] firstChild = new int[n];
+        int[] nextSibling = new int[n];
+        Arrays.fill(firstChild, NONE);
+        for (int i = n - 1; i >= 0; i--) {
+            if (parents[i] != NONE) {
+                nextSibling[i] = firstChild[parents[i]];
+                firstChild[parents[i]] = i;
+            }
+        }
+
+        int[] stack = new int[n];
+        Arrays.fill(enters, 0, n, NONE);
+        int clock = 0;
+        // firstChild is consumed as the walk advances
+        for (int root = 0; root < n; root++) {
+            if (parents[root] != NONE) continue;
+            int top = 0;
+            stack[top++] = root;
+            depths[root] = 0;
+            enters[root] = clock;
+            preorder[clock++] = root;
+            while (top > 0) {
+                int node = stack[top - 1];
+                int child = firstChild[node];
+                if (child != NONE) {
+                    firstChild[node] = nextSibling[child];
+                    depths[child] = depths[node] + 1;
+                    enters[child] = clock;
+                    preorder[clock++] = child;
+                    stack[top++] = child;
+                } else {
+                    sizes[node] = clock - enters[node];
+                    top--;
+                }
+            }
+        }
+        // nodes never reached sit on a parent cycle; expose them as isolated roots
+        for (int i = 0; i < n && clock < n; i++) {
+            if (enters[i] != NONE) continue;
+            parents[i] = NONE;
+            depths[i] = 0;
+            sizes[i] = 1;
+            enters[i] = clock;
+            preorder[clock++] = i;
+        }
+    }
+
+    private void publish() {
+        snapshot = new Snapshot(ordinals, Arrays.copyOf(ids, size), Arrays.copyOf(parents, size),
+                Arrays.copyOf(depths, size), Arrays.copyOf(enters, size), Arrays.copyOf(sizes, size),
+                Arrays.copyOf(preorder, size));
+    }
+
+    /**
+     * One published state of the tree; never mutated.
+     */
+    private record Snapshot(Map<UUID, Integer> ordinals, UUID[] ids, int[] parent, int[] depth,
+                            int[] enter, int[] size, int[] preorder) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), new UUID[0], new int[0], new int[0],
+                new int[0], new int[0], new int[0]);
+
+        /** Ordinal of the ministry in this snapshot, or NONE when it was added later. */
+        int ordinal(UUID id) {
+            Integer ordinal = ordinals.get(id);
+            return ordinal != null && ordinal < ids.length && ids[ordinal].equals(id) ? ordinal : NONE;
+        }
+
+        boolean contains(int ancestor, int descendant) {
+            return enter[ancestor] <= enter[descendant] && enter[descendant] < enter[ancestor] + size[ancestor];
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.common.enums.MinistryType;
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.common.util.CriteriaJson;
+import com.project.ministry_service.common.util.TransactionHooks;
+import com.project.ministry_service.messaging.MinistryEventOutbox;
+import com.project.ministry_service.ministry.api.dto.MemberAssignmentDto;
+import com.project.ministry_service.ministry.api.dto.MinistryImportRecord;
+import com.project.ministry_service.ministry.api.dto.MinistryImportResult;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Bulk ministry import: the input (NDJSON or CSV) is parsed line by line and streamed into a
+ * temp staging table with COPY, then validated, inserted and wired into the closure table
+ * with a handful of set-based statements, all in one transaction.
+ */
+@Service
+public class MinistryImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "name", "type", "established_date", "parent", "parent_id", "term_start", "term_end",
+            "gender", "age_group", "marital_status", "members");
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final MinistryHierarchyIndex hierarchyIndex;
+    private final HighestRoleIndex highestRoleIndex;
+    private final MinistryDatasetVersion datasetVersion;
+    private final MinistryEventOutbox eventOutbox;
+
+    public MinistryImportService(NamedParameterJdbcTemplate jdbc, ObjectMapper objectMapper,
+                                 MinistryHierarchyIndex hierarchyIndex, HighestRoleIndex highestRoleIndex,
+                                 MinistryDatasetVersion datasetVersion, MinistryEventOutbox eventOutbox) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.hierarchyIndex = hierarchyIndex;
+        this.highestRoleIndex = highestRoleIndex;
+        this.datasetVersion = datasetVersion;
+        this.eventOutbox = eventOutbox;
+    }
+
+    @Transactional
+    public MinistryImportResult importMinistries(InputStream input, Format format) {
+        jdbc.getJdbcOperations().execute("""
+                CREATE TEMP TABLE ministry_import (
+                    line_no          integer,
+                    name             varchar(255),
+                    type             varchar(50),
+                    established_date date,
+                    parent_name      varchar(255),
+                    parent_id        uuid,
+                    term_start       date,
+                    term_end         date,
+                    criteria         jsonb,
+                    members          jsonb,
+                    id               uuid,
+                    resolved_parent  uuid
+                ) ON COMMIT DROP
+                """);
+
+        long staged = copyIntoStaging(input, format);
+        if (staged == 0) return new MinistryImportResult(0, 0, 0);
+
+        validate();
+
+        // assign ids, then resolve parents: explicit id first, then a name in the import, then an existing name
+        jdbc.getJdbcOperations().execute("UPDATE ministry_import SET id = gen_random_uuid()");
+        jdbc.getJdbcOperations().execute("""
+                UPDATE ministry_import i
+                SET resolved_parent = COALESCE(i.parent_id,
+                        (SELECT p.id FROM ministry_import p WHERE p.name = i.parent_name),
+                        (SELECT m.id FROM ministries m WHERE m.name = i.parent_name))
+                """);
+
+        int ministries = jdbc.update("""
+                INSERT INTO ministries (id, name, type, established_date, parent_id, term_start, term_end, criteria, active)
+                SELECT id, name, type, established_date, resolved_parent, term_start, term_end, criteria, true
+                FROM ministry_import
+                """, EmptySqlParameterSource.INSTANCE);
+
+        int assignments = jdbc.update("""
+                INSERT INTO ministry_members (id, ministry_id, member_id, role, committee, assigned_date, active)
+                SELECT DISTINCT ON (i.id, a.member_id)
+                       gen_random_uuid(), i.id, a.member_id, COALESCE(a.role, 'MEMBER'), COALESCE(a.committee, false),
+                       CURRENT_DATE, true
+                FROM ministry_import i
+                CROSS JOIN LATERAL ROWS FROM (jsonb_to_recordset(i.members) AS (member_id varchar, role varchar, committee boolean))
+                     WITH ORDINALITY AS a(member_id, role, committee, ord)
+                WHERE i.members IS NOT NULL
+                ORDER BY i.id, a.member_id, a.ord DESC
+                ON CONFLICT (ministry_id, member_id) DO UPDATE
+                    SET role = EXCLUDED.role, committee = EXCLUDED.committee
+                """, EmptySqlParameterSource.INSTANCE);
+
+        // closure rows for the whole import in one pass: walk up through imported parents,
+        // then hang the chain below the existing ancestors of the first non-imported parent
+        int hierarchyRows = jdbc.update("""
+                INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth)
+                WITH RECURSIVE chain AS (
+                    SELECT i.id AS ancestor_id, i.id AS descendant_id, 0 AS depth, i.resolved_parent AS next_id
+                    FROM ministry_import i
+                    UNION ALL
+                    SELECT p.id, c.descendant_id, c.depth + 1, p.resolved_parent
+                    FROM chain c
+                    JOIN ministry_import p ON p.id = c.next_id
+                )
+                SELECT ancestor_id, descendant_id, depth FROM chain
+                UNION ALL
+                SELECT mh.ancestor_id, c.descendant_id, c.depth + 1 + mh.depth
+                FROM chain c
+                JOIN ministry_hierarchy mh ON mh.descendant_id = c.next_id
+                WHERE NOT EXISTS (SELECT 1 FROM ministry_import p WHERE p.id = c.next_id)
+                ON CONFLICT (ancestor_id, descendant_id) DO NOTHING
+                """, EmptySqlParameterSource.INSTANCE);
+
+        eventOutbox.imported();
+
+        TransactionHooks.afterCommit(() -> {
+            hierarchyIndex.reload();
+            highestRoleIndex.reload();
+        });
+        datasetVersion.ministriesChanged();
+        return new MinistryImportResult(ministries, assignments, hierarchyRows);
+    }
+
+    // ------------------------------------------------------------------ validation (set-based)
+
+    private void validate() {
+        List<String> errors = new ArrayList<>();
+        jdbc.getJdbcOperations().query("""
+                SELECT 'duplicate name in import: ' || name FROM ministry_import GROUP BY name HAVING count(*) > 1
+                UNION ALL
+                SELECT 'ministry already exists: ' || i.name FROM ministry_import i JOIN ministries m ON m.name = i.name
+                UNION ALL
+                SELECT 'line ' || i.line_no || ': unknown parent ' || i.parent_name
+                FROM ministry_import i
+                WHERE i.parent_id IS NULL AND i.parent_name IS NOT NULL
+                  AND NOT EXISTS (SELECT 1 FROM ministry_import p WHERE p.name = i.parent_name)
+                  AND NOT EXISTS (SELECT 1 FROM ministries m WHERE m.name = i.parent_name)
+                UNION ALL
+                SELECT 'line ' || i.line_no || ': unknown parent id ' || i.parent_id
+                FROM ministry_import i
+                WHERE i.parent_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM ministries m WHERE m.id = i.parent_id)
+                LIMIT 100
+                """, rs -> { errors.add(rs.getString(1)); });
+        if (errors.isEmpty()) {
+            // every node must reach a root or an existing ministry; what is left sits on a parent cycle
+            jdbc.getJdbcOperations().query("""
+                    WITH RECURSIVE anchored AS (
+                        SELECT i.name FROM ministry_import i
+                        WHERE i.parent_id IS NOT NULL OR i.parent_name IS NULL
+                           OR NOT EXISTS (SELECT 1 FROM ministry_import p WHERE p.name = i.parent_name)
+                        UNION
+                        SELECT c.name FROM ministry_import c
+                        JOIN anchored a ON c.parent_name = a.name AND c.parent_id IS NULL
+                    )
+                    SELECT 'parent cycle through: ' || name FROM ministry_import
+                    EXCEPT
+                    SELECT 'parent cycle through: ' || name FROM anchored
+                    LIMIT 100
+                    """, rs -> { errors.add(rs.getString(1)); });
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Import rejected: " + String.join("; ",
+                    errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS))));
+        }
+    }
+
+    // ------------------------------------------------------------------ streaming parse + COPY
+
+    private long copyIntoStaging(InputStream input, Format format) {
+        String copySql = "COPY ministry_import (line_no, name, type, established_date, parent_name, parent_id, "
+                + "term_start, term_end, criteria, members) FROM STDIN WITH (FORMAT csv)";
+        return jdbc.getJdbcOperations().execute((ConnectionCallback<Long>) con -> {
+            CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_BYTES + 4096);
+                StringBuilder row = new StringBuilder(256);
+                Map<String, Integer> csvHeader = null;
+                String line;
+                int lineNo = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNo++;
+                    if (line.isBlank()) continue;
+                    MinistryImportRecord rec;
+                    if (format == Format.CSV) {
+                        if (csvHeader == null) {
+                            csvHeader = parseCsvHeader(line);
+                            continue;
+                        }
+                        rec = parseCsvRecord(line, csvHeader, lineNo);
+                    } else {
+                        rec = parseJsonRecord(line, lineNo);
+                    }
+                    appendCopyRow(row, lineNo, rec);
+                    buffer.write(row.toString().getBytes(StandardCharsets.UTF_8));
+                    if (buffer.size() >= COPY_BUFFER_BYTES) {
+                        copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                        buffer.reset();
+                    }
+                }
+                if (buffer.size() > 0) copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                return copy.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (copy.isActive()) copy.cancelCopy();
+            }
+        });
+    }
+
+    private MinistryImportRecord parseJsonRecord(String line, int lineNo) {
+        try {
+            return checked(objectMapper.readValue(line, MinistryImportRecord.class), lineNo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("line " + lineNo + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = parseCsvLine(line, 1);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        if (!header.containsKey("name")) {
+            throw new IllegalArgumentException("CSV header must contain at least " + CSV_COLUMNS.get(0) + "; supported columns: " + CSV_COLUMNS);
+        }
+        return header;
+    }
+
+    private MinistryImportRecord parseCsvRecord(String line, Map<String, Integer> header, int lineNo) {
+        List<String> fields = parseCsvLine(line, lineNo);
+        try {
+            MinistryImportRecord rec = new MinistryImportRecord();
+            rec.setName(field(fields, header, "name"));
+            String type = field(fields, header, "type");
+            rec.setType(type != null ? MinistryType.valueOf(type.toUpperCase(Locale.ROOT)) : null);
+            rec.setEstablishedDate(date(field(fields, header, "established_date")));
+            rec.setParent(field(fields, header, "parent"));
+            String parentId = field(fields, header, "parent_id");
+            rec.setParentId(parentId != null ? UUID.fromString(parentId) : null);
+            rec.setTermStart(date(field(fields, header, "term_start")));
+            rec.setTermEnd(date(field(fields, header, "term_end")));
+
+            String gender = field(fields, header, "gender");
+            String ageGroup = field(fields, header, "age_group");
+            String maritalStatus = field(fields, header, "marital_status");
+            if (gender != null || ageGroup != null || maritalStatus != null) {
+                Criteria c = new Criteria();
+                c.setGender(gender);
+                c.setAgeGroup(ageGroup);
+                c.setMaritalStatus(maritalStatus);
+                rec.setCriteria(c);
+            }
+
+            // members: memberId:ROLE:committee;memberId:ROLE:committee;...
+            String members = field(fields, header, "members");
+            if (members != null) {
+                List<MemberAssignmentDto> assignments = new ArrayList<>();
+                for (String entry : members.split(";")) {
+                    if (entry.isBlank()) continue;
+                    String[] parts = entry.trim().split(":");
+                    MemberAssignmentDto a = new MemberAssignmentDto();
+                    a.setMemberId(parts[0]);
+                    a.setRole(parts.length > 1 && !parts[1].isBlank() ? RoleName.valueOf(parts[1].toUpperCase(Locale.ROOT)) : RoleName.MEMBER);
+                    a.setCommittee(parts.length > 2 && Boolean.parseBoolean(parts[2]));
+                    assignments.add(a);
+                }
+                rec.setMembersToAssign(assignments);
+            }
+            return checked(rec, lineNo);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("line " + lineNo + ": " + e.getMessage());
+        }
+    }
+
+    private static MinistryImportRecord checked(MinistryImportRecord rec, int lineNo) {
+        if (rec.getName() == null || rec.getName().isBlank()) {
+            throw new IllegalArgumentException("line " + lineNo + ": name is required");
+        }
+        if (rec.getMembersToAssign() != null) {
+            for (MemberAssignmentDto a : rec.getMembersToAssign()) {
+                if (a.getMemberId() == null || a.getMemberId().isBlank()) {
+                    throw new IllegalArgumentException("line " + lineNo + ": member id is required");
+                }
+            }
+        }
+        return rec;
+    }
+
+    private void appendCopyRow(StringBuilder row, int lineNo, MinistryImportRecord rec) throws JsonProcessingException {
+        row.setLength(0);
+        row.append(lineNo);
+        csv(row, rec.getName());
+        csv(row, rec.getType() != null ? rec.getType().name() : null);
+        csv(row, rec.getEstablishedDate());
+        csv(row, rec.getParent());
+        csv(row, rec.getParentId());
+        csv(row, rec.getTermStart());
+        csv(row, rec.getTermEnd());
+        csv(row, CriteriaJson.toJson(rec.getCriteria()));
+        csv(row, membersJson(rec.getMembersToAssign()));
+        row.append('\n');
+    }
+
+    private String membersJson(List<MemberAssignmentDto> members) throws JsonProcessingException {
+        if (members == null || members.isEmpty()) return null;
+        List<Map<String, Object>> rows = new ArrayList<>(members.size());
+        for (MemberAssignmentDto a : members) {
+            Map<String, Object> m = new HashMap<>(4);
+            m.put("member_id", a.getMemberId());
+            m.put("role", a.getRole() != null ? a.getRole().name() : null);
+            m.put("committee", a.isCommittee());
+            rows.add(m);
+        }
+        return objectMapper.writeValueAsString(rows);
+    }
+
+    // COPY csv: unquoted empty = NULL, everything else quoted with "" escaping
+    private static void csv(StringBuilder row, Object value) {
+        row.append(',');
+        if (value == null) return;
+        String s = value.toString();
+        row.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == '"') row.append('"');
+            row.append(ch);
+        }
+        row.append('"');
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer idx = header.get(column);
+        if (idx == null || idx >= fields.size()) return null;
+        String v = fields.get(idx).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static LocalDate date(String value) {
+        return value != null ? LocalDate.parse(value) : null;
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and "" escapes
+    private static List<String> parseCsvLine(String line, int lineNo) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("line " + lineNo + ": unterminated quoted field");
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.ministry.api.dto.MemberAssignmentDto;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+public class MinistryMemberJdbcService {
+
+    public record UpsertResult(int inserted, int updated) {}
+
+    public record MembershipRef(UUID ministryId, String memberId) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public MinistryMemberJdbcService(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Applies a whole assignment list in one statement: unnest the arrays and upsert on
+     * (ministry_id, member_id). New rows default to MEMBER, existing rows get role/committee updated.
+     */
+    @Transactional
+    public UpsertResult upsertAssignments(UUID ministryId, List<MemberAssignmentDto> assignments) {
+        if (assignments == null || assignments.isEmpty()) return new UpsertResult(0, 0);
+
+        // ON CONFLICT cannot touch the same row twice in one statement: last assignment per member wins
+        Map<String, MemberAssignmentDto> byMember = new LinkedHashMap<>();
+        for (MemberAssignmentDto a : assignments) byMember.put(a.getMemberId(), a);
+
+        int n = byMember.size();
+        String[] memberIds = new String[n];
+        String[] roles = new String[n];
+        Boolean[] committees = new Boolean[n];
+        int i = 0;
+        for (MemberAssignmentDto a : byMember.values()) {
+            memberIds[i] = a.getMemberId();
+            roles[i] = (a.getRole() != null ? a.getRole() : RoleName.MEMBER).name();
+            committees[i] = a.isCommittee();
+            i++;
+        }
+
+        String sql = """
+                INSERT INTO ministry_members (id, ministry_id, member_id, role, committee, assigned_date, active)
+                SELECT gen_random_uuid(), :ministryId, a.member_id, a.role, a.committee, CURRENT_DATE, true
+                FROM unnest(CAST(:memberIds AS varchar[]), CAST(:roles AS varchar[]), CAST(:committees AS boolean[]))
+                     AS a(member_id, role, committee)
+                ON CONFLICT (ministry_id, member_id) DO UPDATE
+                    SET role = EXCLUDED.role, committee = EXCLUDED.committee
+                RETURNING (xmax = 0) AS inserted
+                """;
+        List<Boolean> inserted = jdbc.queryForList(sql, new MapSqlParameterSource()
+                .addValue("ministryId", ministryId)
+                .addValue("memberIds", memberIds)
+                .addValue("roles", roles)
+                .addValue("committees", committees), Boolean.class);
+
+        int insertedCount = 0;
+        for (Boolean b : inserted) if (Boolean.TRUE.equals(b)) insertedCount++;
+        return new UpsertResult(insertedCount, inserted.size() - insertedCount);
+    }
+
+    /**
+     * Sets active on every assignment of the given members in one statement; returns the
+     * assignments that actually changed.
+     */
+    @Transactional
+    public List<MembershipRef> setActiveForMembers(Collection<String> memberIds, boolean active) {
+        if (memberIds.isEmpty()) return List.of();
+        return jdbc.query("""
+                        UPDATE ministry_members
+                        SET active = :active
+                        WHERE member_id = ANY(CAST(:memberIds AS varchar[])) AND active IS DISTINCT FROM :active
+                        RETURNING ministry_id, member_id
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("active", active)
+                        .addValue("memberIds", memberIds.toArray(String[]::new)),
+                (rs, i) -> new MembershipRef(rs.getObject("ministry_id", UUID.class), rs.getString("member_id")));
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.enums.MinistryType;
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.common.util.CriteriaJson;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.ministry.api.dto.embeddable.Info;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-only ministry queries that build the API DTOs straight from the result set: no
+ * managed entities, no persistence context, no dirty checking. The criteria jsonb is kept
+ * as text and only parsed when the DTO's configuration is read (i.e. when it is rendered).
+ * <p>
+ * Listings take a {@link MinistryQuery}: its filters become the WHERE clause (subtreeOf joins
+ * ministry_hierarchy) and its sort one of the whitelisted ORDER BY expressions below, always
+ * with id as the tie-breaker so keyset pages stay stable for any sort. Page cursors carry the
+ * last row's sort value next to its id, so a page continues even if that row was deleted since.
+ */
+@Service
+public class MinistryReadJdbcService {
+
+    /** One ministry_members row, reduced to what the details view needs. */
+    public record AssignmentRow(UUID ministryId, String memberId, RoleName role, boolean committee) {}
+
+    private static final String MINISTRY_COLUMNS =
+            "SELECT m.id, m.name, m.type, m.established_date, m.parent_id, m.term_start, m.term_end, m.criteria, m.active"
+                    + " FROM ministries m";
+
+    /** ORDER BY expression over alias m, its SQL type and the same value taken from a mapped row, as text. */
+    private record SortKey(String expression, String sqlType, Function<MinistryDto, String> value) {}
+
+    private static final String NO_DATE = "infinity";
+
+    // nullable columns get a sentinel so row comparisons never see NULL
+    private static final Map<String, SortKey> SORT_KEYS = Map.of(
+            "id", new SortKey("m.id", "uuid", MinistryDto::getId),
+            "name", new SortKey("m.name", "text", dto -> dto.getInfo().getName()),
+            "type", new SortKey("COALESCE(m.type, '')", "text",
+                    dto -> dto.getInfo().getType() != null ? dto.getInfo().getType().name() : ""),
+            "establishedDate", new SortKey("COALESCE(m.established_date, CAST('infinity' AS date))", "date",
+                    dto -> dateValue(dto.getInfo().getAnniversaryDate())),
+            "termStart", new SortKey("COALESCE(m.term_start, CAST('infinity' AS date))", "date",
+                    dto -> dateValue(dto.getInfo().getStartDate())),
+            "termEnd", new SortKey("COALESCE(m.term_end, CAST('infinity' AS date))", "date",
+                    dto -> dateValue(dto.getInfo().getEndDate())));
+
+    private static final RowMapper<MinistryDto> MINISTRY_ROW = (rs, i) -> {
+        MinistryDto dto = new MinistryDto();
+        dto.setId(rs.getString("id"));
+
+        Info info = dto.getInfo();
+        info.setName(rs.getString("name"));
+        String type = rs.getString("type");
+        info.setType(type != null ? MinistryType.valueOf(type) : null);
+        info.setStartDate(rs.getObject("term_start", LocalDate.class));
+        info.setEndDate(rs.getObject("term_end", LocalDate.class));
+        info.setAnniversaryDate(rs.getObject("established_date", LocalDate.class));
+        info.setStatus(rs.getBoolean("active") ? "active" : "inactive");
+        info.setDirection(rs.getString("parent_id"));
+
+        String criteria = rs.getString("criteria");
+        if (criteria != null) dto.setConfigurationSource(() -> CriteriaJson.fromJson(criteria));
+        return dto;
+    };
+
+    private static final RowMapper<AssignmentRow> ASSIGNMENT_ROW = (rs, i) -> {
+        String role = rs.getString("role");
+        return new AssignmentRow(
+                rs.getObject("ministry_id", UUID.class),
+                rs.getString("member_id"),
+                role != null ? RoleName.valueOf(role) : null,
+                rs.getBoolean("committee"));
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public MinistryReadJdbcService(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MinistryDto> findAll(MinistryQuery query) {
+        return findPageAfter(query, null, 0);
+    }
+
+    /**
+     * Cursor of the page ending with last, for {@link #findPageAfter}: the id alone for the id
+     * sort, otherwise "{id}.{base64url sort value}".
+     */
+    public String cursorAfter(MinistryQuery query, MinistryDto last) {
+        SortKey sortKey = sortKey(query);
+        if ("id".equals(query.sortKey())) return last.getId();
+        String value = sortKey.value().apply(last);
+        return last.getId() + '.' + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Keyset page in the query's sort order: the first page when after is null, otherwise the
+     * ministries that sort after the cursor (from {@link #cursorAfter} with the same sort).
+     * size 0 means no limit.
+     */
+    @Transactional(readOnly = true)
+    public List<MinistryDto> findPageAfter(MinistryQuery query, String after, int size) {
+        SortKey sortKey = sortKey(query);
+        String order = sortKey.expression();
+        String direction = query.descending() ? "DESC" : "ASC";
+
+        StringBuilder sql = new StringBuilder(MINISTRY_COLUMNS);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> where = new ArrayList<>(4);
+        if (query.getSubtreeOf() != null) {
+            sql.append(" JOIN ministry_hierarchy mh ON mh.descendant_id = m.id AND mh.ancestor_id = :subtreeOf");
+            params.addValue("subtreeOf", query.getSubtreeOf());
+        }
+        if (query.getType() != null) {
+            where.add("m.type = :type");
+            params.addValue("type", query.getType().name());
+        }
+        if (query.getActive() != null) {
+            where.add("m.active = :active");
+            params.addValue("active", query.getActive());
+        }
+        if (query.getParent() != null) {
+            where.add("m.parent_id = :parent");
+            params.addValue("parent", query.getParent());
+        }
+        if (after != null) {
+            String comparison = query.descending() ? " < " : " > ";
+            int dot = after.indexOf('.');
+            boolean byId = "id".equals(query.sortKey());
+            if (byId != (dot < 0)) throw new IllegalArgumentException("Cursor '" + after + "' is not for sort '" + query.sortKey() + "'");
+            params.addValue("after", parseId(byId ? after : after.substring(0, dot)));
+            if (byId) {
+                where.add("m.id" + comparison + ":after");
+            } else {
+                where.add("(" + order + ", m.id)" + comparison + "(CAST(:afterValue AS " + sortKey.sqlType() + "), :after)");
+                params.addValue("afterValue", parseValue(after.substring(dot + 1)));
+            }
+        }
+        if (!where.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", where));
+
+        sql.append(" ORDER BY ").append(order).append(' ').append(direction);
+        if (!"id".equals(query.sortKey())) sql.append(", m.id ").append(direction);
+        if (size > 0) {
+            sql.append(" LIMIT :size");
+            params.addValue("size", size);
+        }
+        return jdbc.query(sql.toString(), params, MINISTRY_ROW);
+    }
+
+    private static SortKey sortKey(MinistryQuery query) {
+        SortKey sortKey = SORT_KEYS.get(query.sortKey());
+        if (sortKey == null) throw new IllegalArgumentException("Unsupported sort '" + query.getSort() + "'");
+        return sortKey;
+    }
+
+    private static String dateValue(LocalDate date) {
+        return date != null ? date.toString() : NO_DATE;
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor id '" + id + "'");
+        }
+    }
+
+    private static String parseValue(String encoded) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor value '" + encoded + "'");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<AssignmentRow> findAssignments(Collection<UUID> ministryIds) {
+        if (ministryIds.isEmpty()) return List.of();
+        return jdbc.query("""
+                        SELECT ministry_id, member_id, role, committee
+                        FROM ministry_members
+                        WHERE ministry_id = ANY(CAST(:ministryIds AS uuid[])) AND active
+                        """,
+                new MapSqlParameterSource("ministryIds", ministryIds.toArray(UUID[]::new)), ASSIGNMENT_ROW);
+    }
+}
@@ -3,14 +3,17 @@ package com.project.ministry_service.ministry.application;
 import com.project.ministry_service.ministry.api.dto.CreateMinistryRequest;
 import com.project.ministry_service.ministry.api.dto.MemberDto;
 import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryPageDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
 import com.project.ministry_service.ministry.domain.model.Ministry;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface MinistryService {
     @Transactional
@@ -18,15 +21,23 @@ public interface MinistryService {
     @Transactional
     Ministry updateMinistry(UUID id, CreateMinistryRequest req);
 
-    @CircuitBreaker(name = "memberServiceClient", fallbackMethod = "potentialMembersFallback")
     List<MemberDto> getPotentialMembers(UUID ministryId);
 
-    @CircuitBreaker(name = "memberServiceClient", fallbackMethod = "potentialMembersFallback")
     List<MemberDto> getPotentialMembers(String age, String gender, String maritalStatus);
 
+    Map<UUID, Integer> eligibleMemberCounts();
+
+    List<UUID> ministriesEligibleFor(String memberId);
+
     Optional<Map<String, Object>> highestRoleForMember(String memberId);
 
-    List<MinistryDto> getMinistries();
+    Map<String, Map<String, Object>> highestRolesForMembers(Collection<String> memberIds);
+
+    List<MinistryDto> getMinistries(MinistryQuery query);
+
+    ReadResult<List<MinistryDto>> getMinistriesDetails(MinistryQuery query);
+
+    ReadResult<MinistryPageDto> getMinistriesDetailsPage(MinistryQuery query, String after, int size);
 
-    List<MinistryDto> getMinistriesDetails();
+    void streamMinistriesDetails(MinistryQuery query, int chunkSize, Consumer<List<MinistryDto>> chunkConsumer);
 }
@@ -0,0 +1,249 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.ministry.api.dto.MinistryStatsDto;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-ministry headcounts rolled up through the hierarchy, for the whole tree in one pass.
+ * Assigned members get dense int ordinals; every ministry holds a compressed (Roaring) bitmap
+ * of its members, its committee members and the holders of each role, and the bitmaps are
+ * OR-ed into the parent from the deepest level up, so each subtree count is distinct members
+ * whatever the overlap between departments. Gender counts intersect the subtree with gender
+ * bitmaps taken from the {@link MemberAttributeIndex} replica.
+ * <p>
+ * The rollup is rebuilt from the database when the ministries dataset version changes. A new
+ * replica snapshot (every batch of member events) only re-reads the genders of the assigned
+ * members and recounts the ministries holding a member whose gender changed, plus their
+ * ancestors.
+ */
+@Component
+public class MinistrySubtreeStats {
+
+    private static final int NONE = -1;
+    private static final String UNKNOWN = "UNKNOWN";
+
+    /** Ministries and assignments of one dataset version, with the subtree bitmaps rolled up. */
+    private record Tree(long version, UUID[] ids, UUID[] parentIds, String[] names, int[] parent,
+                        int[] order, int[] position, RoaringBitmap[] members, int[] committee,
+                        Map<String, Integer>[] roles, List<String> memberIds, int[][] ministriesOf) {}
+
+    /**
+     * A tree counted against one replica snapshot. memberGenders (by member ordinal) and
+     * genders are null while the replica has not loaded; stats follow tree.order.
+     */
+    private record Rollup(Tree tree, MemberAttributeIndex.Snapshot replica, String[] memberGenders,
+                          Map<String, RoaringBitmap> genders, List<MinistryStatsDto> stats) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MemberAttributeIndex memberAttributeIndex;
+    private final MinistryDatasetVersion datasetVersion;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Rollup rollup;
+
+    public MinistrySubtreeStats(NamedParameterJdbcTemplate jdbc, MemberAttributeIndex memberAttributeIndex,
+                                MinistryDatasetVersion datasetVersion) {
+        this.jdbc = jdbc;
+        this.memberAttributeIndex = memberAttributeIndex;
+        this.datasetVersion = datasetVersion;
+    }
+
+    /**
+     * Stats of every ministry, parents before their children.
+     */
+    public List<MinistryStatsDto> all() {
+        // the version is read first, so a write that commits during the load only causes one more load
+        long version = datasetVersion.ministries();
+        MemberAttributeIndex.Snapshot replica = memberAttributeIndex.current();
+        Rollup r = rollup;
+        if (r != null && r.tree().version() == version && r.replica() == replica) return r.stats();
+        loadLock.lock();
+        try {
+            r = rollup;
+            if (r != null && r.tree().version() == version && r.replica() == replica) return r.stats();
+            if (r == null || r.tree().version() != version) r = count(load(version), replica);
+            else if (r.memberGenders() == null || !replica.loaded()) r = count(r.tree(), replica);
+            else r = recount(r, replica);
+            rollup = r;
+            return r.stats();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Tree load(long version) {
+        // the tree: dense ministry ordinals with a parent array
+        Map<UUID, Integer> ordinals = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        List<UUID> parentIds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        jdbc.getJdbcOperations().query("SELECT id, name, parent_id FROM ministries ORDER BY name, id", rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            ordinals.put(id, ids.size());
+            ids.add(id);
+            parentIds.add(rs.getObject("parent_id", UUID.class));
+            names.add(rs.getString("name"));
+        });
+        int n = ids.size();
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            Integer p = parentIds.get(i) != null ? ordinals.get(parentIds.get(i)) : null;
+            parent[i] = p != null ? p : NONE;
+        }
+
+        // own assignments as bitmaps of member ordinals
+        Map<String, Integer> memberOrdinals = new HashMap<>();
+        List<String> memberIds = new ArrayList<>();
+        List<List<Integer>> ministriesOf = new ArrayList<>();
+        RoaringBitmap[] members = new RoaringBitmap[n];
+        RoaringBitmap[] committee = new RoaringBitmap[n];
+        @SuppressWarnings("unchecked")
+        Map<String, RoaringBitmap>[] roles = new Map[n];
+        for (int i = 0; i < n; i++) {
+            members[i] = new RoaringBitmap();
+            committee[i] = new RoaringBitmap();
+            roles[i] = new HashMap<>();
+        }
+        jdbc.getJdbcOperations().query("SELECT ministry_id, member_id, role, committee FROM ministry_members WHERE active", rs -> {
+            Integer ministry = ordinals.get(rs.getObject("ministry_id", UUID.class));
+            if (ministry == null) return;
+            String memberId = rs.getString("member_id");
+            int member = memberOrdinals.computeIfAbsent(memberId, k -> {
+                memberIds.add(k);
+                ministriesOf.add(new ArrayList<>(1));
+                return memberIds.size() - 1;
+            });
+            ministriesOf.get(member).add(ministry);
+            members[ministry].add(member);
+            if (rs.getBoolean("committee")) committee[ministry].add(member);
+            String role = rs.getString("role");
+            if (role != null) roles[ministry].computeIfAbsent(role, k -> new RoaringBitmap()).add(member);
+        });
+
+        // roots first, level by level; children are then OR-ed into their parents in reverse
+        List<List<Integer>> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) children.add(new ArrayList<>(0));
+        int[] order = new int[n];
+        int ordered = 0;
+        for (int i = 0; i < n; i++) {
+            if (parent[i] == NONE) order[ordered++] = i;
+            else children.get(parent[i]).add(i);
+        }
+        for (int head = 0; head < ordered; head++) {
+            for (int child : children.get(order[head])) order[ordered++] = child;
+        }
+        // a node on a parent cycle is never reached from a root: it counts its own members only
+        for (int i = ordered - 1; i >= 0; i--) {
+            int node = order[i];
+            int p = parent[node];
+            if (p == NONE) continue;
+            members[p].or(members[node]);
+            committee[p].or(committee[node]);
+            roles[node].forEach((role, holders) -> roles[p].merge(role, holders, (a, b) -> RoaringBitmap.or(a, b)));
+        }
+        boolean[] listed = new boolean[n];
+        for (int i = 0; i < ordered; i++) listed[order[i]] = true;
+        for (int i = 0; i < n; i++) {
+            if (!listed[i]) order[ordered++] = i;
+        }
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) position[order[i]] = i;
+
+        // only the member bitmaps are kept: later recounts intersect them with new gender bitmaps
+        int[] committeeCounts = new int[n];
+        @SuppressWarnings("unchecked")
+        Map<String, Integer>[] roleCounts = new Map[n];
+        for (int i = 0; i < n; i++) {
+            committeeCounts[i] = committee[i].getCardinality();
+            roleCounts[i] = new TreeMap<>();
+            Map<String, Integer> counts = roleCounts[i];
+            roles[i].forEach((role, holders) -> counts.put(role, holders.getCardinality()));
+        }
+        int[][] ministriesOfArray = new int[memberIds.size()][];
+        for (int member = 0; member < ministriesOfArray.length; member++) {
+            ministriesOfArray[member] = ministriesOf.get(member).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new Tree(version, ids.toArray(UUID[]::new), parentIds.toArray(UUID[]::new), names.toArray(String[]::new),
+                parent, order, position, members, committeeCounts, roleCounts, memberIds, ministriesOfArray);
+    }
+
+    private Rollup count(Tree tree, MemberAttributeIndex.Snapshot replica) {
+        String[] memberGenders = null;
+        Map<String, RoaringBitmap> genders = null;
+        if (replica.loaded()) {
+            memberGenders = new String[tree.memberIds().size()];
+            genders = new HashMap<>();
+            for (int member = 0; member < memberGenders.length; member++) {
+                memberGenders[member] = gender(replica, tree.memberIds().get(member));
+                genders.computeIfAbsent(memberGenders[member], k -> new RoaringBitmap()).add(member);
+            }
+        }
+        List<MinistryStatsDto> stats = new ArrayList<>(tree.order().length);
+        for (int node : tree.order()) stats.add(stats(tree, node, genders));
+        return new Rollup(tree, replica, memberGenders, genders, stats);
+    }
+
+    // same tree, new replica snapshot: only ministries holding a member whose gender changed,
+    // and their ancestors, are counted again
+    private Rollup recount(Rollup previous, MemberAttributeIndex.Snapshot replica) {
+        Tree tree = previous.tree();
+        String[] memberGenders = previous.memberGenders().clone();
+        Map<String, RoaringBitmap> genders = null;
+        boolean[] affected = new boolean[tree.ids().length];
+        List<Integer> dirty = new ArrayList<>();
+        for (int member = 0; member < memberGenders.length; member++) {
+            String gender = gender(replica, tree.memberIds().get(member));
+            if (gender.equals(memberGenders[member])) continue;
+            if (genders == null) genders = copy(previous.genders());
+            genders.get(memberGenders[member]).remove(member);
+            genders.computeIfAbsent(gender, k -> new RoaringBitmap()).add(member);
+            memberGenders[member] = gender;
+            for (int ministry : tree.ministriesOf()[member]) {
+                // up to the root, or a node already marked (a cycle ends there too)
+                for (int node = ministry; node != NONE && !affected[node]; node = tree.parent()[node]) {
+                    affected[node] = true;
+                    dirty.add(node);
+                }
+            }
+        }
+        if (genders == null) return new Rollup(tree, replica, previous.memberGenders(), previous.genders(), previous.stats());
+
+        List<MinistryStatsDto> stats = new ArrayList<>(previous.stats());
+        for (int node : dirty) stats.set(tree.position()[node], stats(tree, node, genders));
+        return new Rollup(tree, replica, memberGenders, genders, stats);
+    }
+
+    private static MinistryStatsDto stats(Tree tree, int node, Map<String, RoaringBitmap> genders) {
+        Map<String, Integer> genderCounts = null;
+        if (genders != null) {
+            genderCounts = new TreeMap<>();
+            for (Map.Entry<String, RoaringBitmap> gender : genders.entrySet()) {
+                int count = RoaringBitmap.andCardinality(tree.members()[node], gender.getValue());
+                if (count > 0) genderCounts.put(gender.getKey(), count);
+            }
+        }
+        return new MinistryStatsDto(tree.ids()[node], tree.parentIds()[node], tree.names()[node],
+                tree.members()[node].getCardinality(), tree.committee()[node], new TreeMap<>(tree.roles()[node]), genderCounts);
+    }
+
+    // members the replica does not know (or without a gender) are UNKNOWN
+    private static String gender(MemberAttributeIndex.Snapshot replica, String memberId) {
+        int ordinal = replica.ordinal(memberId);
+        if (ordinal < 0) return UNKNOWN;
+        for (Map.Entry<String, RoaringBitmap> holders : replica.byGender().entrySet()) {
+            if (holders.getValue().contains(ordinal)) return holders.getKey();
+        }
+        return UNKNOWN;
+    }
+
+    private static Map<String, RoaringBitmap> copy(Map<String, RoaringBitmap> bitmaps) {
+        Map<String, RoaringBitmap> copy = new HashMap<>(bitmaps.size() * 2);
+        bitmaps.forEach((value, holders) -> copy.put(value, holders.clone()));
+        return copy;
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.ministry_service.ministry.application;
+
+/**
+ * A read answer and whether it is complete. An incomplete one (member profiles left out because
+ * member-service did not answer in time) is still served, but must not be cached.
+ */
+public record ReadResult<T>(T value, boolean complete) {
+
+    public static <T> ReadResult<T> of(T value) {
+        return new ReadResult<>(value, true);
+    }
+}
@@ -1,119 +1,139 @@
 package com.project.ministry_service.ministry.application.impl;
 
+import com.project.ministry_service.client.MemberServiceCache;
 import com.project.ministry_service.client.MemberServiceFeignClient;
-import com.project.ministry_service.common.enums.RoleName;
-import com.project.ministry_service.common.util.MinistryMapper;
+import com.project.ministry_service.client.MemberServiceReactiveClient;
+import com.project.ministry_service.common.util.TransactionHooks;
+import com.project.ministry_service.messaging.MinistryEventOutbox;
 import com.project.ministry_service.ministry.api.dto.CreateMinistryRequest;
 import com.project.ministry_service.ministry.api.dto.MemberAssignmentDto;
 import com.project.ministry_service.ministry.api.dto.MemberDto;
 import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryPageDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
 import com.project.ministry_service.ministry.api.dto.embeddable.MinistryMemberDto;
 import com.project.ministry_service.ministry.application.HierarchyJdbcService;
+import com.project.ministry_service.ministry.application.HighestRoleIndex;
+import com.project.ministry_service.ministry.application.MemberReplicaNotReadyException;
+import com.project.ministry_service.ministry.application.MinistryDatasetVersion;
+import com.project.ministry_service.ministry.application.MinistryDetailsView;
+import com.project.ministry_service.ministry.application.MinistryEligibilityEngine;
+import com.project.ministry_service.ministry.application.MinistryMemberJdbcService;
+import com.project.ministry_service.ministry.application.MinistryReadJdbcService;
 import com.project.ministry_service.ministry.application.MinistryService;
+import com.project.ministry_service.ministry.application.ReadResult;
 import com.project.ministry_service.ministry.domain.model.Ministry;
-import com.project.ministry_service.ministry.domain.model.MinistryMember;
-import com.project.ministry_service.ministry.domain.repository.MinistryHierarchyRepository;
-import com.project.ministry_service.ministry.domain.repository.MinistryMemberRepository;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
 import com.project.ministry_service.ministry.domain.repository.MinistryRepository;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class MinistryServiceImpl implements MinistryService {
 
+    private static final Logger log = LoggerFactory.getLogger(MinistryServiceImpl.class);
+
     private final MinistryRepository ministryRepository;
-    private final MinistryMemberRepository ministryMemberRepository;
     private final MemberServiceFeignClient memberServiceFeignClient;
+    private final MemberServiceCache memberServiceCache;
+    private final MemberServiceReactiveClient memberServiceReactiveClient; // null unless transport=reactive
     private final HierarchyJdbcService hierarchyJdbcService;
-    private final MinistryMapper ministryMapper;
-
-    private static final Map<RoleName, Integer> rolePriority = Map.ofEntries(
-            // 🕊️ Top-Level Pastoral Leadership
-            Map.entry(RoleName.SENIOR_PASTOR, 0),
-            Map.entry(RoleName.LEAD_PASTOR, 1),
-            Map.entry(RoleName.ASSOCIATE_PASTOR, 2),
-
-            // 🧱 Executive & Governing Leadership
-            Map.entry(RoleName.CHAIRMAN, 10),
-            Map.entry(RoleName.VICE_CHAIRMAN, 11),
-            Map.entry(RoleName.DEACON, 12),
-            Map.entry(RoleName.DEACONESS, 13),
-
-            // 🏛️ Departmental & Ministry Heads
-            Map.entry(RoleName.PRESIDENT, 20),
-            Map.entry(RoleName.VICE_PRESIDENT, 21),
-            Map.entry(RoleName.SUPERINTENDENT, 22),
-            Map.entry(RoleName.COORDINATOR, 23),
-            Map.entry(RoleName.ASSISTANT_COORDINATOR, 24),
-
-            // 🗂️ Administrative & Financial Staff
-            Map.entry(RoleName.SECRETARY, 30),
-            Map.entry(RoleName.ASSISTANT_SECRETARY, 31),
-            Map.entry(RoleName.TREASURER, 32),
-            Map.entry(RoleName.ASSISTANT_TREASURER, 33),
-            Map.entry(RoleName.FINANCE_OFFICER, 34),
-            Map.entry(RoleName.ADVISOR, 35),
-            Map.entry(RoleName.REPRESENTATIVE, 36),
-
-            // 💻 Technical & Operational Directors
-            Map.entry(RoleName.IT_ADMINISTRATOR, 40),
-            Map.entry(RoleName.MEDIA_DIRECTOR, 41),
-            Map.entry(RoleName.PROGRAM_DIRECTOR, 42),
-            Map.entry(RoleName.PUBLIC_RELATIONS_OFFICER, 43),
-
-            // 🧑🏽‍🏫 Educational & Service Roles
-            Map.entry(RoleName.TEACHER, 50),
-            Map.entry(RoleName.USHER, 51),
-            Map.entry(RoleName.GREETER, 52),
-
-            // 🧰 Facilities & Maintenance
-            Map.entry(RoleName.MAINTENANCE_WORKER, 60),
-            Map.entry(RoleName.CUSTODIAN, 61),
-            Map.entry(RoleName.GROUNDSKEEPER, 62),
-            Map.entry(RoleName.BUS_DRIVER, 63),
-            Map.entry(RoleName.MECHANIC, 64),
-
-            // 🎨 Creative, Arts & Tech Team
-            Map.entry(RoleName.SOFTWARE_DEVELOPER, 70),
-            Map.entry(RoleName.ELECTRICAL_TECHNICIAN, 71),
-            Map.entry(RoleName.DANCER, 72),
-            Map.entry(RoleName.PROJECTIONIST, 73),
-            Map.entry(RoleName.AUDIO_ENGINEER, 74),
-            Map.entry(RoleName.VIDEO_OPERATOR, 75),
-            Map.entry(RoleName.LIGHTING_TECHNICIAN, 76),
-            Map.entry(RoleName.MEDIA_CONTENT_CREATOR, 77),
-            Map.entry(RoleName.TECHNICAL_SUPPORT, 78),
-
-            // 🎉 Event & General Roles
-            Map.entry(RoleName.EVENT_PLANNER, 90),
-            Map.entry(RoleName.SECURITY_OFFICER, 91),
-            Map.entry(RoleName.VOLUNTEER, 92),
-            Map.entry(RoleName.INTERN, 93),
-            Map.entry(RoleName.TRAINEE, 94),
-            Map.entry(RoleName.MEMBER, 95)
-    );
-    private final MinistryHierarchyRepository ministryHierarchyRepository;
+    private final MinistryMemberJdbcService ministryMemberJdbcService;
+    private final MinistryReadJdbcService ministryReadJdbcService;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Value("${app.details.chunk-size:500}")
+    private int detailsChunkSize;
+
+    private final HighestRoleIndex highestRoleIndex;
+    private final MinistryDatasetVersion datasetVersion;
+    private final MinistryEligibilityEngine eligibilityEngine;
+    private final MinistryEventOutbox eventOutbox;
+    private final MinistryDetailsView detailsView;
+    private final CircuitBreaker memberSearchBreaker;
+    private final ObservationRegistry observationRegistry;
+    private final DistributionSummary membersPerMinistry;
+    private final Counter assignmentsInserted;
+    private final Counter assignmentsUpdated;
+    private final Counter memberLookupTimeouts;
+    // /details stages that run beside the request thread (next-chunk prefetch): one virtual
+    // thread each, so concurrent requests never queue behind each other for a stage thread
+    private final ExecutorService detailsExecutor;
+    private final Duration memberLookupTimeout;
 
     public MinistryServiceImpl(MinistryRepository ministryRepository,
-                               MinistryMemberRepository ministryMemberRepository,
                                MemberServiceFeignClient memberServiceFeignClient,
+                               MemberServiceCache memberServiceCache,
+                               Optional<MemberServiceReactiveClient> memberServiceReactiveClient,
                                HierarchyJdbcService hierarchyJdbcService,
-                               MinistryMapper ministryMapper, MinistryHierarchyRepository ministryHierarchyRepository) {
+                               MinistryMemberJdbcService ministryMemberJdbcService,
+                               MinistryReadJdbcService ministryReadJdbcService, HighestRoleIndex highestRoleIndex,
+                               MinistryDatasetVersion datasetVersion, MinistryEligibilityEngine eligibilityEngine,
+                               MinistryEventOutbox eventOutbox, MinistryDetailsView detailsView,
+                               ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               @Value("${app.details.member-lookup-timeout:10s}") Duration memberLookupTimeout) {
         this.ministryRepository = ministryRepository;
-        this.ministryMemberRepository = ministryMemberRepository;
         this.memberServiceFeignClient = memberServiceFeignClient;
+        this.memberServiceCache = memberServiceCache;
+        this.memberServiceReactiveClient = memberServiceReactiveClient.orElse(null);
         this.hierarchyJdbcService = hierarchyJdbcService;
-        this.ministryMapper = ministryMapper;
-        this.ministryHierarchyRepository = ministryHierarchyRepository;
+        this.ministryMemberJdbcService = ministryMemberJdbcService;
+        this.ministryReadJdbcService = ministryReadJdbcService;
+        this.highestRoleIndex = highestRoleIndex;
+        this.datasetVersion = datasetVersion;
+        this.eligibilityEngine = eligibilityEngine;
+        this.eventOutbox = eventOutbox;
+        this.detailsView = detailsView;
+        this.memberSearchBreaker = circuitBreakerRegistry.circuitBreaker("memberServiceClient");
+        this.observationRegistry = observationRegistry;
+        this.membersPerMinistry = DistributionSummary.builder("ministry.details.members")
+                .description("Assignments per ministry in /details responses")
+                .baseUnit("members")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry);
+        this.assignmentsInserted = assignmentWrites(meterRegistry, "inserted");
+        this.assignmentsUpdated = assignmentWrites(meterRegistry, "updated");
+        this.memberLookupTimeouts = memberLookupTimeouts(meterRegistry);
+        this.detailsExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("details-", 0).factory());
+        this.memberLookupTimeout = memberLookupTimeout;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        detailsExecutor.shutdown();
     }
 
     @Override
@@ -132,12 +152,16 @@ public class MinistryServiceImpl implements MinistryService {
         m.setTermEnd(req.getTermEnd());
         m.setCriteria(req.getCriteria());
         m = ministryRepository.save(m);
+        eventOutbox.ministrySaved(m, true);
 
         // maintain hierarchy rows
         hierarchyJdbcService.insertSelfAndParentAncestors(m.getId(), m.getParentId());
 
         // persist any provided assignments (membersToAssign)
         persistAssignments(m.getId(), req.getMembersToAssign());
+        refreshHighestRoles(m, req.getMembersToAssign());
+        refreshDetailsView(m.getId());
+        datasetVersion.ministriesChanged();
 
         return m;
     }
@@ -155,7 +179,9 @@ public class MinistryServiceImpl implements MinistryService {
         m.setParentId(req.getParentId());
         m.setTermStart(req.getTermStart());
         m.setTermEnd(req.getTermEnd());
-        m = ministryRepository.save(m);
+        // flushed first: the row lock then orders concurrent updates' outbox events as their commits
+        m = ministryRepository.saveAndFlush(m);
+        eventOutbox.ministrySaved(m, false);
 
         if (!Objects.equals(oldParent, req.getParentId())) {
             // move subtree under new parent efficiently
@@ -164,119 +190,228 @@ public class MinistryServiceImpl implements MinistryService {
 
         // persist any provided assignments (merge semantics)
         persistAssignments(m.getId(), req.getMembersToAssign());
+        refreshHighestRoles(m, req.getMembersToAssign());
+        refreshDetailsView(m.getId());
+        datasetVersion.ministriesChanged();
 
         return m;
     }
 
-    public List<MinistryDto> getMinistries() {
-        return ministryMapper.toDtoList(ministryRepository.findAll());
+    public List<MinistryDto> getMinistries(MinistryQuery query) {
+        return ministryReadJdbcService.findAll(query.validate());
     }
 
-    public List<MinistryDto> getMinistriesDetails() {
-        // 1️⃣ Fetch all ministries once
-        List<Ministry> ministries = ministryRepository.findAll();
-        List<MinistryDto> ministryDtos = ministryMapper.toDtoList(ministries);
+    public ReadResult<List<MinistryDto>> getMinistriesDetails(MinistryQuery query) {
+        List<MinistryDto> ministryDtos = new ArrayList<>();
+        boolean complete = walkMinistriesDetails(query, detailsChunkSize, ministryDtos::addAll);
+        return new ReadResult<>(ministryDtos, complete);
+    }
 
-        if (ministries.isEmpty()) return List.of();
+    @Override
+    public ReadResult<MinistryPageDto> getMinistriesDetailsPage(MinistryQuery query, String after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        query.validate();
+        List<MinistryDto> page = phase("fetch-ministries", () -> ministryReadJdbcService.findPageAfter(query, after, size));
+        String nextCursor = page.size() < size ? null : ministryReadJdbcService.cursorAfter(query, page.get(page.size() - 1));
+        ReadResult<List<MinistryDto>> details = buildMinistriesDetails(page, query);
+        return new ReadResult<>(new MinistryPageDto(details.value(), nextCursor), details.complete());
+    }
 
-        // 2️⃣ Fetch all MinistryMembers in one query
-        List<MinistryMember> allMembers = ministryMemberRepository.findAllByMinistryIdIn(
-                ministries.stream().map(Ministry::getId).collect(Collectors.toSet())
-        );
+    /**
+     * Walks the ministries chunk by chunk; the next chunk is read from the database while the
+     * current one is hydrated and handed to the consumer, so at most two chunks are in memory.
+     */
+    @Override
+    public void streamMinistriesDetails(MinistryQuery query, int chunkSize, Consumer<List<MinistryDto>> chunkConsumer) {
+        walkMinistriesDetails(query, chunkSize, chunkConsumer);
+    }
+
+    // true when every chunk came out complete
+    private boolean walkMinistriesDetails(MinistryQuery query, int chunkSize, Consumer<List<MinistryDto>> chunkConsumer) {
+        query.validate();
+        CompletableFuture<List<MinistryDto>> next =
+                stage("fetch-ministries", () -> ministryReadJdbcService.findPageAfter(query, null, chunkSize));
+        boolean complete = true;
+        List<MinistryDto> chunk;
+        do {
+            chunk = await(next);
+            if (chunk.isEmpty()) return complete;
+            if (chunk.size() == chunkSize) {
+                String cursor = ministryReadJdbcService.cursorAfter(query, chunk.get(chunk.size() - 1));
+                next = stage("fetch-ministries", () -> ministryReadJdbcService.findPageAfter(query, cursor, chunkSize));
+            }
+            ReadResult<List<MinistryDto>> details = buildMinistriesDetails(chunk, query);
+            complete &= details.complete();
+            chunkConsumer.accept(details.value());
+        } while (chunk.size() == chunkSize);
+        return complete;
+    }
 
-        // 3️⃣ Group MinistryMembers by ministryId
-        Map<UUID, List<MinistryMember>> membersByMinistry = allMembers.stream()
-                .collect(Collectors.groupingBy(MinistryMember::getMinistryId));
+    /**
+     * Builds the detailed DTOs for one chunk of ministries. The members blocks come from the
+     * {@link MinistryDetailsView} read model in one lookup; ministries it has no row for yet are
+     * assembled live: one member query and one member-service lookup for them, so memory stays
+     * bounded by the chunk size. The member-service lookup starts as soon as the member ids are
+     * known and runs while the request thread groups the assignments; member-lookup only times
+     * the remaining wait. A lookup that outlives app.details.member-lookup-timeout leaves the
+     * members out, like a failed member-service chunk; the result is then marked incomplete.
+     * Without "members" in the requested fields none of this runs.
+     */
+    private ReadResult<List<MinistryDto>> buildMinistriesDetails(List<MinistryDto> ministryDtos, MinistryQuery query) {
+        if (ministryDtos.isEmpty() || !query.includes("members")) return ReadResult.of(ministryDtos);
+        List<UUID> ministryIds = ministryDtos.stream().map(dto -> UUID.fromString(dto.getId())).toList();
+
+        Map<UUID, MinistryMemberDto> materialized = phase("read-model", () -> detailsView.find(ministryIds));
+        List<UUID> liveIds = materialized.size() == ministryIds.size() ? List.of()
+                : ministryIds.stream().filter(id -> !materialized.containsKey(id)).toList();
+        ReadResult<Map<UUID, MinistryMemberDto>> live = liveIds.isEmpty() ? ReadResult.of(Map.of()) : assembleLive(liveIds);
 
-        // 4️⃣ Batch fetch all MemberDtos from Feign
+        ministryDtos.forEach(ministryDto -> {
+            UUID ministryId = UUID.fromString(ministryDto.getId());
+            MinistryMemberDto members = materialized.get(ministryId);
+            if (members == null) members = live.value().get(ministryId);
+            membersPerMinistry.record(members.getUnit().size() + members.getCommittee().size());
+            ministryDto.setMinistryMemberDto(members);
+        });
+        return new ReadResult<>(ministryDtos, live.complete());
+    }
+
+    // incomplete when member-service did not return every assigned member
+    private ReadResult<Map<UUID, MinistryMemberDto>> assembleLive(List<UUID> ministryIds) {
+        // 1️⃣ Fetch the assignments in one query
+        List<MinistryReadJdbcService.AssignmentRow> allMembers =
+                phase("fetch-members", () -> ministryReadJdbcService.findAssignments(ministryIds));
+
+        // 2️⃣ Start the batch fetch of the MemberDtos (cache first, remote for the misses)
         Set<String> allMemberIds = allMembers.stream()
-                .map(MinistryMember::getMemberId)
+                .map(MinistryReadJdbcService.AssignmentRow::memberId)
                 .collect(Collectors.toSet());
+        CompletableFuture<List<MemberDto>> memberLookup = memberServiceCache.getMembersByIdsAsync(allMemberIds)
+                .orTimeout(memberLookupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        // 3️⃣ Group while member-service answers
+        Map<UUID, List<MinistryReadJdbcService.AssignmentRow>> membersByMinistry = phase("grouping", () -> allMembers.stream()
+                .collect(Collectors.groupingBy(MinistryReadJdbcService.AssignmentRow::ministryId)));
+
+        Map<String, MemberDto> memberDtoMap = allMemberIds.isEmpty() ? Map.of()
+                : phase("member-lookup", () -> awaitMembers(memberLookup, allMemberIds.size()).stream()
+                .collect(Collectors.toMap(MemberDto::getId, dto -> dto, (a, b) -> a)));
+
+        // 4️⃣ Build the MinistryMemberDto of each ministry
+        Map<UUID, MinistryMemberDto> result = new HashMap<>(ministryIds.size() * 2);
+        phase("dto-building", () -> ministryIds.forEach(ministryId -> result.put(ministryId,
+                MinistryDetailsView.assemble(membersByMinistry.getOrDefault(ministryId, List.of()), memberDtoMap))));
+        return new ReadResult<>(result, memberDtoMap.size() == allMemberIds.size());
+    }
 
-        Map<String, MemberDto> memberDtoMap = memberServiceFeignClient.getMembersByIds(allMemberIds).stream()
-                .collect(Collectors.toMap(MemberDto::getId, dto -> dto));
+    /**
+     * Times one /details phase as a child observation of the current request
+     * (ministry.details.phase timer, tagged by phase).
+     */
+    private <T> T phase(String name, Supplier<T> work) {
+        return Observation.createNotStarted("ministry.details.phase", observationRegistry)
+                .lowCardinalityKeyValue("phase", name)
+                .observe(work);
+    }
 
-        // 5️⃣ Populate MinistryMemberDto for each ministry
-        ministryDtos.forEach(ministryDto -> {
-            UUID ministryId = UUID.fromString(ministryDto.getId());
-            List<MinistryMember> ministryMembers = membersByMinistry.getOrDefault(ministryId, List.of());
-
-            MinistryMemberDto ministryMemberDto = new MinistryMemberDto();
-            ministryMemberDto.setUnit(new ArrayList<>());
-            ministryMemberDto.setCommittee(new ArrayList<>());
-
-            MemberDto leader = null;
-            int leaderPriority = Integer.MAX_VALUE;
-
-            for (MinistryMember mm : ministryMembers) {
-                MemberDto original = memberDtoMap.get(mm.getMemberId());
-                if (original == null) continue;
-
-                // Build a new DTO directly for this ministry
-                MemberDto dto = MemberDto.builder()
-                        .id(original.getId())
-                        .name(original.getName())
-                        .firstName(original.getFirstName())
-                        .lastName(original.getLastName())
-                        .gender(original.getGender())
-                        .age(original.getAge())
-                        .maritalStatus(original.getMaritalStatus())
-                        .photoUrl(original.getPhotoUrl())
-                        .phone(original.getPhone())
-                        .role(mm.isCommittee() ? mm.getRole() : null)
-                        .memberRole(!mm.isCommittee() ? mm.getRole() : null)
-                        .build();
-
-                if (mm.isCommittee()) {
-                    ministryMemberDto.getCommittee().add(dto);
-                    int priority = rolePriority.getOrDefault(mm.getRole(), Integer.MAX_VALUE);
-                    if (priority < leaderPriority) {
-                        leaderPriority = priority;
-                        leader = dto;
-                    }
-                } else {
-                    ministryMemberDto.getUnit().add(dto);
-                }
-            }
+    private void phase(String name, Runnable work) {
+        Observation.createNotStarted("ministry.details.phase", observationRegistry)
+                .lowCardinalityKeyValue("phase", name)
+                .observe(work);
+    }
 
-            ministryMemberDto.setLeader(leader);
-            ministryDto.setMinistryMemberDto(ministryMemberDto);
-        });
+    /**
+     * Runs one /details phase on the details executor, still observed as a child of the
+     * caller's observation. Database stages are bounded by the connection pool and statement
+     * timeouts, not here.
+     */
+    private <T> CompletableFuture<T> stage(String name, Supplier<T> work) {
+        Observation parent = observationRegistry.getCurrentObservation();
+        return CompletableFuture.supplyAsync(() -> Observation.createNotStarted("ministry.details.phase", observationRegistry)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("phase", name)
+                .observe(work), detailsExecutor);
+    }
 
-        return ministryDtos;
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : e;
+        }
     }
 
-    private void persistAssignments(UUID ministryId, List<MemberAssignmentDto> assignments) {
-        if (assignments == null || assignments.isEmpty()) return;
-
-        // merge semantics: update existing or insert new
-        Set<String> incoming = assignments.stream().map(MemberAssignmentDto::getMemberId).collect(Collectors.toSet());
-        List<MinistryMember> existing = ministryMemberRepository.findAllByMinistryId(ministryId);
-
-        Map<String, MinistryMember> existingMap = existing.stream().collect(Collectors.toMap(MinistryMember::getMemberId, mm -> mm));
-
-        for (MemberAssignmentDto a : assignments) {
-            String memberId = a.getMemberId();
-            MinistryMember mm = existingMap.get(memberId);
-            if (mm != null) {
-                mm.setRole(a.getRole());
-                mm.setCommittee(a.isCommittee());
-                ministryMemberRepository.save(mm);
-            } else {
-                MinistryMember newMm = new MinistryMember();
-                newMm.setMinistryId(ministryId);
-                newMm.setMemberId(memberId);
-                newMm.setRole(a.getRole() != null ? a.getRole() : RoleName.MEMBER);
-                newMm.setCommittee(a.isCommittee());
-                ministryMemberRepository.save(newMm);
-            }
+    private List<MemberDto> awaitMembers(CompletableFuture<List<MemberDto>> lookup, int ids) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) memberLookupTimeouts.increment();
+            // degrade like a failed member-service chunk: ministries are returned without members
+            log.warn("member lookup for {} ids failed: {}", ids, e.getCause().toString());
+            return List.of();
         }
     }
 
+    private static Counter memberLookupTimeouts(MeterRegistry meterRegistry) {
+        return Counter.builder("ministry.details.timeouts")
+                .description("/details member lookups that exceeded app.details.member-lookup-timeout")
+                .tag("phase", "member-lookup")
+                .register(meterRegistry);
+    }
+
+    // the row goes with the write, so no response is cached from the old row under the new version;
+    // the rebuild (a member-service lookup) runs after the commit, off the request thread
+    private void refreshDetailsView(UUID ministryId) {
+        detailsView.invalidate(List.of(ministryId));
+        TransactionHooks.afterCommit(() -> detailsView.refreshLater(List.of(ministryId)));
+    }
+
+    private void refreshHighestRoles(Ministry m, List<MemberAssignmentDto> assignments) {
+        UUID ministryId = m.getId();
+        String name = m.getName();
+        Set<String> memberIds = assignments == null ? Set.of()
+                : assignments.stream().map(MemberAssignmentDto::getMemberId).collect(Collectors.toSet());
+        TransactionHooks.afterCommit(() -> {
+            highestRoleIndex.onMinistrySaved(ministryId, name);
+            highestRoleIndex.refreshMembers(memberIds);
+        });
+    }
+
+    private void persistAssignments(UUID ministryId, List<MemberAssignmentDto> assignments) {
+        // merge semantics: update existing or insert new, as one set-based upsert
+        MinistryMemberJdbcService.UpsertResult result = ministryMemberJdbcService.upsertAssignments(ministryId, assignments);
+        assignmentsInserted.increment(result.inserted());
+        assignmentsUpdated.increment(result.updated());
+        log.debug("Ministry {}: {} assignments inserted, {} updated", ministryId, result.inserted(), result.updated());
+        eventOutbox.membersAssigned(ministryId, assignments);
+    }
+
+    private static Counter assignmentWrites(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ministry.assignments.upserted")
+                .description("Assignments written by ministry creates and updates: inserted (new member) or updated")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * member-service's search, behind the memberServiceClient circuit breaker: a failed search
+     * or an open breaker answers no candidates.
+     */
     @Override
-    @CircuitBreaker(name = "memberServiceClient", fallbackMethod = "potentialMembersFallback")
     public List<MemberDto> getPotentialMembers(String age, String gender, String maritalStatus) {
-        List<Map<String, Object>> res = memberServiceFeignClient.getAllMembers(age, gender, maritalStatus);
+        MemberServiceCache.Generation generation = memberServiceCache.generation();
+        List<Map<String, Object>> res;
+        try {
+            res = memberSearchBreaker.executeSupplier(() -> memberSearch(
+                    client -> client.getAllMembers(age, gender, maritalStatus),
+                    () -> memberServiceFeignClient.getAllMembers(age, gender, maritalStatus)));
+        } catch (Exception e) {
+            log.warn("member-service search failed: {}", e.toString());
+            return Collections.emptyList();
+        }
+        if (res == null) return Collections.emptyList();
         // convert to MemberDto (minimal mapping)
         List<MemberDto> list = new ArrayList<>();
         for (Map<String, Object> mobj : res) {
@@ -286,8 +421,9 @@ public class MinistryServiceImpl implements MinistryService {
             Map<String, Object> personalInfo = (Map<String, Object>) mobj.get("personalInfo");
             p.setFirstName(personalInfo != null ? Objects.toString(personalInfo.get("firstName"), null) : null);
             p.setLastName(personalInfo != null ? Objects.toString(personalInfo.get("lastName"), null) : null);
-            p.setName(p.getFirstName().concat(" ").concat(p.getLastName()));
-            LocalDate birthDate = (personalInfo != null ? LocalDate.parse(Objects.toString(personalInfo.get("birthdate"), null)) : null);
+            p.setName(Objects.toString(p.getFirstName(), "") + " " + Objects.toString(p.getLastName(), ""));
+            Object birthdate = personalInfo != null ? personalInfo.get("birthdate") : null;
+            LocalDate birthDate = birthdate != null ? LocalDate.parse(birthdate.toString()) : null;
             if (birthDate != null) p.setAge(Period.between(birthDate, LocalDate.now()).getYears());
             p.setGender(personalInfo != null ? Objects.toString(personalInfo.get("gender"), null) : null);
             p.setMaritalStatus(personalInfo != null ? Objects.toString(personalInfo.get("maritalStatus"), null) : null);
@@ -295,83 +431,83 @@ public class MinistryServiceImpl implements MinistryService {
             p.setPhone(contact != null ? Objects.toString(contact.get("mobilePhoneNumber"), null) : null);
             list.add(p);
         }
+        // search results carry full profiles: warm the member cache for /details
+        memberServiceCache.putAll(list, generation);
         return list;
     }
 
-    private List<MemberDto> potentialMembersFallback(Throwable e) {
-        // This is called automatically if the Feign client fails
-        return Collections.emptyList();
-    }
-
+    /**
+     * Evaluates the ministry's criteria against the local member replica; profiles come from
+     * the member cache (members member-service cannot return right now are listed by id only).
+     * Until the replica has loaded, the criteria are sent to member-service's search instead.
+     * No circuit breaker here: the replica path keeps answering while member-service is down.
+     */
     @Override
-    @CircuitBreaker(name = "memberServiceClient", fallbackMethod = "potentialMembersFallback")
     public List<MemberDto> getPotentialMembers(UUID ministryId) {
-        Ministry m = ministryRepository.findById(ministryId).orElseThrow();
-        Map<String, String> params = new HashMap<>();
-        var c = m.getCriteria();
-        if (c != null) {
-            if (c.getGender() != null && !"ALL".equalsIgnoreCase(c.getGender())) params.put("gender", c.getGender());
-            if (c.getAgeGroup() != null && !"ALL".equalsIgnoreCase(c.getAgeGroup()))
-                params.put("ageGroup", c.getAgeGroup());
-            if (c.getMaritalStatus() != null && !"ALL".equalsIgnoreCase(c.getMaritalStatus()))
-                params.put("maritalStatus", c.getMaritalStatus());
+        if (!eligibilityEngine.isReady()) {
+            Criteria c = ministryRepository.findById(ministryId)
+                    .orElseThrow(() -> new NoSuchElementException("Ministry not found")).getCriteria();
+            return c == null ? getPotentialMembers("ALL", "ALL", "ALL")
+                    : getPotentialMembers(orAll(c.getAgeGroup()), orAll(c.getGender()), orAll(c.getMaritalStatus()));
         }
 
-        List<Map<String, Object>> res = memberServiceFeignClient.searchMembers(params);
-        // convert to MemberDto (minimal mapping)
-        List<MemberDto> list = new ArrayList<>();
-        for (Map<String, Object> mobj : res) {
-            MemberDto p = new MemberDto();
-            p.setId(Objects.toString(mobj.get("id"), null));
-            p.setFirstName(Objects.toString(mobj.get("firstName"), null));
-            p.setLastName(Objects.toString(mobj.get("lastName"), null));
-            Object age = mobj.get("age");
-            if (age != null) p.setAge(Integer.parseInt(age.toString()));
-            p.setGender(Objects.toString(mobj.get("gender"), null));
-            list.add(p);
+        List<String> eligible = eligibilityEngine.eligibleMemberIds(ministryId);
+        Map<String, MemberDto> profiles = new HashMap<>(eligible.size() * 2);
+        try {
+            for (MemberDto member : memberServiceCache.getMembersByIds(new HashSet<>(eligible))) {
+                profiles.put(member.getId(), member);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Profiles of {} eligible members unavailable, listing them by id: {}", eligible.size(), e.toString());
+        }
+        List<MemberDto> list = new ArrayList<>(eligible.size());
+        for (String memberId : eligible) {
+            MemberDto profile = profiles.get(memberId);
+            list.add(profile != null ? profile : MemberDto.builder().id(memberId).build());
         }
         return list;
     }
 
-    private List<MemberDto> potentialMembersFallback(UUID ministryId, Throwable t) {
-        return Collections.emptyList();
+    @Override
+    public Map<UUID, Integer> eligibleMemberCounts() {
+        requireEligibility();
+        return eligibilityEngine.eligibleCounts();
     }
 
-    // highest role logic similar to earlier...
     @Override
-    public Optional<Map<String, Object>> highestRoleForMember(String memberId) {
+    public List<UUID> ministriesEligibleFor(String memberId) {
+        requireEligibility();
+        return eligibilityEngine.ministriesEligibleFor(memberId);
+    }
 
-        // Fetch all active ministry memberships, prioritizing committee memberships
-        List<MinistryMember> entries = ministryMemberRepository.findAllByMemberIdAndActiveTrueAndCommitteeTrue(memberId);
-        if (entries.isEmpty()) entries = ministryMemberRepository.findAllByMemberIdAndActiveTrue(memberId);
-        if (entries.isEmpty()) return Optional.empty();
+    private void requireEligibility() {
+        if (!eligibilityEngine.isReady()) throw new MemberReplicaNotReadyException();
+    }
 
-        // Collect ministry IDs
-        Set<UUID> ministryIds = entries.stream()
-                .map(MinistryMember::getMinistryId)
-                .collect(Collectors.toSet());
+    private static String orAll(String value) {
+        return value == null || value.isBlank() ? "ALL" : value;
+    }
+
+    /**
+     * Runs a member-service search on the configured transport. Failures (including the
+     * reactive call's timeout) propagate so the circuit breaker records them.
+     */
+    private List<Map<String, Object>> memberSearch(
+            Function<MemberServiceReactiveClient, Mono<List<Map<String, Object>>>> reactive,
+            Supplier<List<Map<String, Object>>> feign) {
+        return memberServiceReactiveClient != null ? reactive.apply(memberServiceReactiveClient).block() : feign.get();
+    }
+
+    // highest role comes from the maintained index: committee first, shallowest ministry, then role priority
+    @Override
+    public Optional<Map<String, Object>> highestRoleForMember(String memberId) {
+        return highestRoleIndex.get(memberId).map(HighestRoleIndex.HighestRole::toMap);
+    }
 
-        // Fetch hierarchy info (descent with min-of-max-depth)
-        Map<UUID, String> ministryHierarchyMap = ministryHierarchyRepository.findDescentWithMinOfMaxDepth(ministryIds)
-                .stream()
-                .collect(Collectors.toMap(
-                        x -> (UUID) x[0],
-                        x -> String.valueOf(x[2])
-                ));
-
-        // Pick the best member by hierarchy depth first, then role priority
-        MinistryMember best = entries.stream()
-                .min(Comparator
-                        .comparing((MinistryMember mm) -> ministryHierarchyMap.containsKey(mm.getMinistryId()) ? 0 : Integer.MAX_VALUE)
-                        .thenComparing(mm -> rolePriority.getOrDefault(mm.getRole(), Integer.MAX_VALUE))
-                )
-                .orElse(entries.get(0)); // fallback in case something goes wrong
-
-        return Optional.of(Map.of(
-                "memberId", best.getMemberId(),
-                "role", best.getRole(),
-                "ministryId", best.getMinistryId(),
-                "ministryName", ministryHierarchyMap.get(best.getMinistryId())
-        ));
+    @Override
+    public Map<String, Map<String, Object>> highestRolesForMembers(Collection<String> memberIds) {
+        Map<String, Map<String, Object>> result = new HashMap<>();
+        highestRoleIndex.getAll(memberIds).forEach((memberId, role) -> result.put(memberId, role.toMap()));
+        return result;
     }
-}
\ No newline at end of file
+}
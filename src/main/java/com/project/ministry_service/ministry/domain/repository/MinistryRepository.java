@@ -1,11 +1,13 @@
 package com.project.ministry_service.ministry.domain.repository;
 
 import com.project.ministry_service.ministry.domain.model.Ministry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +17,9 @@ public interface MinistryRepository extends JpaRepository<Ministry, UUID> {
 
     @Query("SELECT m.name FROM Ministry m WHERE m.id = :id")
     String findMinistryNameById(@Param("id") UUID id);
+
+    // keyset pagination on ministries.id (first page / next pages)
+    List<Ministry> findAllByOrderByIdAsc(Limit limit);
+
+    List<Ministry> findAllByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
 }
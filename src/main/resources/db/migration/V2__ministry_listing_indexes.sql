@@ -0,0 +1,14 @@
+-- listing filters (?type, ?active, ?parent); each is keyset-paged on id, so id trails the filter column
+CREATE INDEX IF NOT EXISTS idx_ministries_type_id ON ministries (type, id);
+CREATE INDEX IF NOT EXISTS idx_ministries_active_id ON ministries (active, id);
+CREATE INDEX IF NOT EXISTS idx_ministries_parent_id ON ministries (parent_id, id);
+
+-- ?sort on the date columns (name is covered by its unique index); expressions match the ORDER BY
+CREATE INDEX IF NOT EXISTS idx_ministries_established_date
+    ON ministries (COALESCE(established_date, CAST('infinity' AS date)), id);
+CREATE INDEX IF NOT EXISTS idx_ministries_term_start
+    ON ministries (COALESCE(term_start, CAST('infinity' AS date)), id);
+CREATE INDEX IF NOT EXISTS idx_ministries_term_end
+    ON ministries (COALESCE(term_end, CAST('infinity' AS date)), id);
+
+-- ?subtreeOf joins ministry_hierarchy on (ancestor_id, descendant_id): already covered by uq_mh
@@ -0,0 +1,9 @@
+-- ministry change events, written in the transaction of the change and relayed to Kafka in id order
+CREATE TABLE IF NOT EXISTS ministry_outbox
+(
+    id          bigserial PRIMARY KEY,
+    ministry_id uuid        NOT NULL, -- Kafka key: one partition, and so one order, per ministry
+    event_type  varchar(64) NOT NULL,
+    payload     jsonb       NOT NULL,
+    created_at  timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,14 @@
+-- last member-service event applied per partition, committed with the changes it made:
+-- a redelivered batch skips what is at or below it
+CREATE TABLE IF NOT EXISTS member_event_offsets
+(
+    consumer_group varchar(255) NOT NULL,
+    topic          varchar(255) NOT NULL,
+    partition      integer      NOT NULL,
+    last_offset    bigint       NOT NULL,
+    updated_at     timestamptz  NOT NULL DEFAULT now(),
+    PRIMARY KEY (consumer_group, topic, partition)
+);
+
+-- member deactivation / deletion flips active on all of a member's assignments
+CREATE INDEX IF NOT EXISTS idx_ministry_members_member_id ON ministry_members (member_id);
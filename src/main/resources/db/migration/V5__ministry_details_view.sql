@@ -0,0 +1,9 @@
+-- /details read model: the ready-made members block (leader, committee, unit with member profiles)
+-- per ministry, rebuilt on assignment writes and member events
+CREATE TABLE IF NOT EXISTS ministry_details_view
+(
+    ministry_id     uuid PRIMARY KEY,
+    members         jsonb       NOT NULL,
+    missing_members integer     NOT NULL DEFAULT 0, -- assignments member-service could not resolve; repaired later
+    refreshed_at    timestamptz NOT NULL            -- when the sources were read; older rebuilds never overwrite
+);
@@ -0,0 +1,10 @@
+-- the one active outbox relay across instances: it holds this lease while it publishes, and
+-- publishes outside any transaction; an expired lease is taken over by another instance
+CREATE TABLE IF NOT EXISTS ministry_outbox_relay
+(
+    id           smallint PRIMARY KEY CHECK (id = 1),
+    owner        varchar(64),
+    leased_until timestamptz NOT NULL DEFAULT '-infinity'
+);
+
+INSERT INTO ministry_outbox_relay (id) VALUES (1) ON CONFLICT DO NOTHING;
@@ -0,0 +1,11 @@
+-- version counters of what the ministry read endpoints render, shared by all instances:
+-- ministries is bumped in the transaction of every ministry / assignment / hierarchy write,
+-- members after every batch of member events
+CREATE TABLE IF NOT EXISTS ministry_dataset_version
+(
+    id         smallint PRIMARY KEY CHECK (id = 1),
+    ministries bigint NOT NULL DEFAULT 0,
+    members    bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO ministry_dataset_version (id) VALUES (1) ON CONFLICT DO NOTHING;
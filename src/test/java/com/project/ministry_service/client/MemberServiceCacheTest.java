@@ -0,0 +1,59 @@
+package com.project.ministry_service.client;
+
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+class MemberServiceCacheTest {
+
+    private final MemberServiceBatchClient batchClient = mock(MemberServiceBatchClient.class);
+    private final MemberServiceCache cache = new MemberServiceCache(batchClient, Optional.empty(), new SimpleMeterRegistry(),
+            1_000, Duration.ofMinutes(30));
+
+    @Test
+    void aLookupStartedBeforeAnInvalidationDoesNotCacheItsProfile() {
+        CompletableFuture<Map<String, MemberDto>> pending = new CompletableFuture<>();
+        when(batchClient.getMembersByIdsAsync(anySet())).thenReturn(pending);
+        CompletableFuture<List<MemberDto>> lookup = cache.getMembersByIdsAsync(Set.of("m1", "m2"));
+
+        // a member event for m1 arrives, and the listener re-caches its fresh profile
+        cache.invalidateAll(List.of("m1"));
+        when(batchClient.getMembersByIds(Set.of("m1"))).thenReturn(Map.of("m1", member("m1", "fresh")));
+        assertThat(cache.getMembersByIds(Set.of("m1"))).extracting(MemberDto::getName).containsExactly("fresh");
+
+        pending.complete(Map.of("m1", member("m1", "stale"), "m2", member("m2", "current")));
+        assertThat(lookup.join()).hasSize(2);
+
+        Map<String, String> names = new HashMap<>();
+        cache.getMembersByIds(Set.of("m1", "m2")).forEach(m -> names.put(m.getId(), m.getName()));
+        assertThat(names).containsOnly(Map.entry("m1", "fresh"), Map.entry("m2", "current"));
+        verify(batchClient, times(1)).getMembersByIds(anySet());
+    }
+
+    @Test
+    void profilesFetchedBeforeAnInvalidationAreNotCached() {
+        MemberServiceCache.Generation generation = cache.generation();
+        cache.invalidate("m1");
+        cache.putAll(List.of(member("m1", "stale"), member("m2", "current")), generation);
+
+        when(batchClient.getMembersByIds(Set.of("m1"))).thenReturn(Map.of("m1", member("m1", "fresh")));
+        Map<String, String> names = new HashMap<>();
+        cache.getMembersByIds(Set.of("m1", "m2")).forEach(m -> names.put(m.getId(), m.getName()));
+        assertThat(names).containsOnly(Map.entry("m1", "fresh"), Map.entry("m2", "current"));
+    }
+
+    private static MemberDto member(String id, String name) {
+        MemberDto member = new MemberDto();
+        member.setId(id);
+        member.setName(name);
+        return member;
+    }
+}
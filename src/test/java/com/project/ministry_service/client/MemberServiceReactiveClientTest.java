@@ -0,0 +1,108 @@
+package com.project.ministry_service.client;
+
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberServiceReactiveClientTest {
+
+    private final List<Set<String>> requests = new CopyOnWriteArrayList<>();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private HttpServer server;
+    private MemberServiceReactiveClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // answers every requested id, once the test releases the response
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/members", exchange -> {
+            Set<String> ids = Arrays.stream(exchange.getRequestURI().getRawQuery().split("&"))
+                    .map(p -> URLDecoder.decode(p.substring(p.indexOf('=') + 1), StandardCharsets.UTF_8))
+                    .collect(Collectors.toSet());
+            requests.add(ids);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ids.stream().map(id -> "{\"id\":\"" + id + "\"}")
+                    .collect(Collectors.joining(",", "[", "]")).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        client = new MemberServiceReactiveClient(WebClient.builder(), circuitBreakerRegistry, new SimpleMeterRegistry(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), 2, 4, 10, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentLookupsShareTheChunkInFlight() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<Map<String, MemberDto>> first = client.getMembersByIds(Set.of("a", "b")).toFuture();
+        waitFor(() -> requests.size() == 1);
+        CompletableFuture<Map<String, MemberDto>> second = client.getMembersByIds(Set.of("a", "c")).toFuture();
+        waitFor(() -> requests.size() == 2);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys("a", "b");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsOnlyKeys("a", "c");
+        assertThat(requests).containsExactly(Set.of("a", "b"), Set.of("c"));
+    }
+
+    @Test
+    void aFailedChunkDoesNotKeepItsIdsClaimed() {
+        circuitBreakerRegistry.circuitBreaker("memberServiceClient").transitionToForcedOpenState();
+        assertThat(client.getMembersByIds(Set.of("a", "b", "c", "d", "e")).block()).isEmpty();
+
+        circuitBreakerRegistry.circuitBreaker("memberServiceClient").transitionToClosedState();
+        assertThat(client.getMembersByIds(Set.of("a", "b", "c", "d", "e")).block()).containsOnlyKeys("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void aCancelledLookupReleasesItsClaims() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<Map<String, MemberDto>> joined = new CompletableFuture<>();
+        var owner = client.getMembersByIds(Set.of("a")).subscribe();
+        waitFor(() -> requests.size() == 1);
+        client.getMembersByIds(Set.of("a")).subscribe(joined::complete);
+        owner.dispose();
+
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isEmpty();
+        release.countDown();
+        assertThat(client.getMembersByIds(Set.of("a")).block()).containsOnlyKeys("a");
+        assertThat(requests).hasSize(2);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("timed out");
+            Thread.sleep(10);
+        }
+    }
+}
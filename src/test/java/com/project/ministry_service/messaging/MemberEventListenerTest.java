@@ -0,0 +1,149 @@
+package com.project.ministry_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.ministry.application.HighestRoleIndex;
+import com.project.ministry_service.ministry.application.MemberAttributeIndex;
+import com.project.ministry_service.ministry.application.MinistryDatasetVersion;
+import com.project.ministry_service.ministry.application.MinistryDetailsView;
+import com.project.ministry_service.ministry.application.MinistryMemberJdbcService;
+import com.project.ministry_service.support.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+class MemberEventListenerTest {
+
+    private static final String TOPIC = "members";
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MinistryMemberJdbcService ministryMemberJdbcService = spy(new MinistryMemberJdbcService(jdbc));
+    private final MemberEventListener listener = new MemberEventListener(mock(MemberServiceCache.class),
+            mock(MemberAttributeIndex.class), new MinistryDatasetVersion(jdbc), ministryMemberJdbcService,
+            mock(HighestRoleIndex.class), new MinistryEventOutbox(jdbc, new ObjectMapper()),
+            mock(MinistryDetailsView.class), jdbc, TestDatabase.transactionTemplate(), meterRegistry, "test-group");
+    private UUID ministry;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        ministry = UUID.randomUUID();
+        jdbc.update("INSERT INTO ministries (id, name) VALUES (:id, 'Choir')", Map.of("id", ministry));
+        assign("m1");
+        assign("m2");
+    }
+
+    @Test
+    void laterProfileUpdateKeepsTheDeactivation() {
+        listener.onMemberChanges(List.of(event(0, 0, "m1", "DEACTIVATED"), event(0, 1, "m1", "UPDATED")));
+
+        assertThat(active("m1")).isFalse();
+        assertThat(active("m2")).isTrue();
+        assertThat(appliedOffset(0)).isEqualTo(1);
+    }
+
+    @Test
+    void redeliveredEventsAreSkipped() {
+        listener.onMemberChanges(List.of(event(0, 0, "m1", "DEACTIVATED"), event(0, 1, "m1", "REACTIVATED")));
+        assertThat(active("m1")).isTrue();
+        int outboxRows = outboxRows();
+
+        // the same batch again, then a new event alongside the already applied ones
+        listener.onMemberChanges(List.of(event(0, 0, "m1", "DEACTIVATED"), event(0, 1, "m1", "REACTIVATED")));
+        assertThat(active("m1")).isTrue();
+        assertThat(outboxRows()).isEqualTo(outboxRows);
+
+        listener.onMemberChanges(List.of(event(0, 1, "m1", "REACTIVATED"), event(0, 2, "m2", "DELETED")));
+        assertThat(active("m1")).isTrue();
+        assertThat(active("m2")).isFalse();
+        assertThat(appliedOffset(0)).isEqualTo(2);
+        assertThat(meterRegistry.get("member.events").tag("result", "duplicate").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void partitionsAreTrackedSeparately() {
+        listener.onMemberChanges(List.of(event(0, 5, "m1", "DEACTIVATED")));
+        // offset 3 on another partition is new even though partition 0 is past it
+        listener.onMemberChanges(List.of(event(1, 3, "m2", "DEACTIVATED")));
+
+        assertThat(active("m1")).isFalse();
+        assertThat(active("m2")).isFalse();
+        assertThat(appliedOffset(0)).isEqualTo(5);
+        assertThat(appliedOffset(1)).isEqualTo(3);
+    }
+
+    @Test
+    void aDataErrorIsPinnedOnItsRecord() {
+        assign("bad");
+        doThrow(new DataIntegrityViolationException("bad row"))
+                .when(ministryMemberJdbcService).setActiveForMembers(argThat(ids -> ids.contains("bad")), eq(false));
+
+        assertThatThrownBy(() -> listener.onMemberChanges(List.of(
+                event(0, 0, "m1", "DEACTIVATED"), event(0, 1, "bad", "DEACTIVATED"), event(0, 2, "m2", "DEACTIVATED"))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> assertThat(e.getIndex()).isEqualTo(1));
+        // the record before it is applied and committed, the ones from it on are not
+        assertThat(active("m1")).isFalse();
+        assertThat(active("m2")).isTrue();
+        assertThat(appliedOffset(0)).isEqualTo(0);
+    }
+
+    @Test
+    void anInfrastructureErrorFailsTheWholeBatch() {
+        doThrow(new CannotGetJdbcConnectionException("down"))
+                .when(ministryMemberJdbcService).setActiveForMembers(argThat(ids -> !ids.isEmpty()), eq(false));
+
+        assertThatThrownBy(() -> listener.onMemberChanges(List.of(
+                event(0, 0, "m1", "DEACTIVATED"), event(0, 1, "m2", "DEACTIVATED"))))
+                .isInstanceOf(CannotGetJdbcConnectionException.class);
+        assertThat(active("m1")).isTrue();
+        assertThat(active("m2")).isTrue();
+    }
+
+    private static ConsumerRecord<String, MemberChangeEvent> event(int partition, long offset, String memberId, String type) {
+        MemberChangeEvent event = new MemberChangeEvent();
+        event.setMemberId(memberId);
+        event.setEventType(type);
+        return new ConsumerRecord<>(TOPIC, partition, offset, memberId, event);
+    }
+
+    private void assign(String memberId) {
+        jdbc.update("""
+                INSERT INTO ministry_members (id, ministry_id, member_id, role, committee)
+                VALUES (:id, :ministryId, :memberId, 'MEMBER', false)
+                """, new MapSqlParameterSource().addValue("id", UUID.randomUUID()).addValue("ministryId", ministry)
+                .addValue("memberId", memberId));
+    }
+
+    private boolean active(String memberId) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT active FROM ministry_members WHERE member_id = :m", Map.of("m", memberId), Boolean.class));
+    }
+
+    private long appliedOffset(int partition) {
+        return jdbc.queryForObject("""
+                SELECT last_offset FROM member_event_offsets
+                WHERE consumer_group = 'test-group' AND topic = :topic AND partition = :partition
+                """, Map.of("topic", TOPIC, "partition", partition), Long.class);
+    }
+
+    private int outboxRows() {
+        return jdbc.queryForObject("SELECT count(*) FROM ministry_outbox", Map.of(), Integer.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.ministry_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ministry_service.support.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MinistryOutboxRelayTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        jdbc.update("INSERT INTO ministry_outbox_relay (id) VALUES (1)", Map.of());
+        for (int i = 0; i < 3; i++) {
+            jdbc.update("""
+                    INSERT INTO ministry_outbox (ministry_id, event_type, payload)
+                    VALUES (:ministryId, 'MINISTRY_UPDATED', CAST('{}' AS jsonb))
+                    """, new MapSqlParameterSource("ministryId", UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    void waitsForAcksWithoutHoldingATransaction() {
+        List<CompletableFuture<SendResult<String, Object>>> sends = new CopyOnWriteArrayList<>();
+        KafkaTemplate<String, Object> kafka = kafka(sends);
+        MinistryOutboxRelay relay = relay(kafka, Duration.ofSeconds(10), Duration.ofSeconds(20));
+
+        CompletableFuture<Void> relaying = CompletableFuture.runAsync(relay::relay);
+        verify(kafka, timeout(5_000).times(3)).send(any(ProducerRecord.class));
+
+        assertThat(jdbc.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE state LIKE 'idle in transaction%'", Map.of(), Integer.class))
+                .isZero();
+        // another instance sees the lease and stays out
+        KafkaTemplate<String, Object> other = kafka(new CopyOnWriteArrayList<>());
+        relay(other, Duration.ofSeconds(10), Duration.ofSeconds(20)).relay();
+        verify(other, never()).send(any(ProducerRecord.class));
+
+        sends.forEach(send -> send.complete(null));
+        relaying.join();
+        assertThat(outboxRows()).isZero();
+    }
+
+    @Test
+    void unackedBatchStaysAndAnExpiredLeaseIsTakenOver() throws InterruptedException {
+        KafkaTemplate<String, Object> stalled = kafka(new CopyOnWriteArrayList<>());
+        MinistryOutboxRelay first = relay(stalled, Duration.ofMillis(200), Duration.ofMillis(500));
+        first.relay();
+        assertThat(outboxRows()).isEqualTo(3);
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new CopyOnWriteArrayList<>();
+        KafkaTemplate<String, Object> kafka = kafka(sends);
+        MinistryOutboxRelay second = relay(kafka, Duration.ofMillis(200), Duration.ofMillis(500));
+        second.relay();
+        verify(kafka, never()).send(any(ProducerRecord.class));
+
+        Thread.sleep(600);
+        when(kafka.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        second.relay();
+        verify(kafka, times(3)).send(any(ProducerRecord.class));
+        assertThat(outboxRows()).isZero();
+    }
+
+    @Test
+    void releasedLeaseIsTakenOverRightAway() {
+        MinistryOutboxRelay first = relay(kafka(new CopyOnWriteArrayList<>()), Duration.ofMillis(100), Duration.ofMinutes(1));
+        first.relay();
+        first.releaseLease();
+
+        KafkaTemplate<String, Object> kafka = mock(KafkaTemplate.class);
+        when(kafka.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        relay(kafka, Duration.ofMillis(100), Duration.ofMinutes(1)).relay();
+        assertThat(outboxRows()).isZero();
+    }
+
+    private MinistryOutboxRelay relay(KafkaTemplate<String, Object> kafka, Duration sendTimeout, Duration lease) {
+        return new MinistryOutboxRelay(jdbc, kafka, new ObjectMapper(), new SimpleMeterRegistry(),
+                "ministries", true, 500, sendTimeout, lease);
+    }
+
+    // sends stay pending until the test completes them
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, Object> kafka(List<CompletableFuture<SendResult<String, Object>>> sends) {
+        KafkaTemplate<String, Object> kafka = mock(KafkaTemplate.class);
+        when(kafka.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, Object>> send = new CompletableFuture<>();
+            sends.add(send);
+            return send;
+        });
+        return kafka;
+    }
+
+    private int outboxRows() {
+        return jdbc.queryForObject("SELECT count(*) FROM ministry_outbox", Map.of(), Integer.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.ministry_service.ministry.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.project.ministry_service.ministry.application.MinistryDatasetVersion;
+import com.project.ministry_service.ministry.application.ReadResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MinistryResponseCacheTest {
+
+    private final MinistryResponseCache cache = new MinistryResponseCache(new ObjectMapper(), new MinistryDatasetVersion(mock(NamedParameterJdbcTemplate.class)),
+            new SimpleMeterRegistry(), DataSize.ofMegabytes(1), Duration.ofMinutes(1), DataSize.ofKilobytes(1));
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void completeBodiesAreCachedAndTagged() {
+        ResponseEntity<byte[]> first = respond(true);
+        ResponseEntity<byte[]> second = respond(true);
+
+        assertThat(renders).hasValue(1);
+        assertThat(first.getHeaders().getETag()).isNotNull().isEqualTo(second.getHeaders().getETag());
+        assertThat(new String(first.getBody())).isEqualTo("[\"a\",\"b\"]");
+    }
+
+    @Test
+    void incompleteBodiesAreServedButNeitherCachedNorTagged() {
+        ResponseEntity<byte[]> degraded = respond(false);
+
+        assertThat(degraded.getHeaders().getETag()).isNull();
+        assertThat(degraded.getHeaders().getCacheControl()).isEqualTo("no-store");
+        assertThat(new String(degraded.getBody())).isEqualTo("[\"a\",\"b\"]");
+
+        ResponseEntity<byte[]> recovered = respond(true);
+        assertThat(renders).hasValue(2);
+        assertThat(recovered.getHeaders().getETag()).isNotNull();
+        assertThat(recovered.getHeaders().get(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    private ResponseEntity<byte[]> respond(boolean complete) {
+        return cache.respond("details?", true, new SimpleFilterProvider(), () -> {
+            renders.incrementAndGet();
+            return new ReadResult<>(List.of("a", "b"), complete);
+        }, null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HighestRoleIndexTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final MinistryHierarchyIndex hierarchyIndex = new MinistryHierarchyIndex(jdbc);
+    private final HighestRoleIndex index = new HighestRoleIndex(jdbc, hierarchyIndex);
+    private UUID root;
+    private UUID child;
+    private UUID grandchild;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        root = ministry("Church", null);
+        child = ministry("Youth", root);
+        grandchild = ministry("Youth Choir", child);
+        hierarchyIndex.reload();
+    }
+
+    @Test
+    void committeeFirstThenShallowestThenRolePriority() {
+        assign(grandchild, "a1", "DEACON", true);
+        assign(root, "a1", "MEMBER", false);
+        assign(child, "a2", "SECRETARY", true);
+        assign(ministry("Men", root), "a2", "TREASURER", true);
+        hierarchyIndex.reload();
+        index.reload();
+
+        assertThat(index.get("a1")).get().extracting(HighestRoleIndex.HighestRole::ministryId).isEqualTo(grandchild);
+        HighestRoleIndex.HighestRole a2 = index.get("a2").orElseThrow();
+        assertThat(a2.role()).isEqualTo(RoleName.SECRETARY);
+        assertThat(a2.ministryName()).isEqualTo("Youth");
+        assertThat(a2.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshMembersPicksUpAssignmentWrites() {
+        assign(grandchild, "a1", "MEMBER", false);
+        index.reload();
+
+        assign(root, "a1", "DEACON", false);
+        index.refreshMembers(List.of("a1"));
+        assertThat(index.get("a1").orElseThrow().ministryId()).isEqualTo(root);
+
+        jdbc.update("UPDATE ministry_members SET active = false WHERE member_id = 'a1'", Map.of());
+        index.refreshMembers(List.of("a1"));
+        assertThat(index.get("a1")).isEmpty();
+    }
+
+    @Test
+    void movesAndRenamesRecomputeTheAffectedMembers() {
+        assign(root, "a1", "MEMBER", false);
+        assign(grandchild, "a1", "MEMBER", false);
+        index.reload();
+        assertThat(index.get("a1").orElseThrow().ministryId()).isEqualTo(root);
+
+        // grandchild becomes a root, root moves under it
+        jdbc.update("UPDATE ministries SET parent_id = NULL WHERE id = :id", Map.of("id", grandchild));
+        jdbc.update("UPDATE ministries SET parent_id = :p WHERE id = :id", Map.of("p", grandchild, "id", root));
+        hierarchyIndex.move(grandchild, null);
+        hierarchyIndex.move(root, grandchild);
+        index.onMinistriesMoved(hierarchyIndex.subtree(grandchild));
+        assertThat(index.get("a1").orElseThrow().ministryId()).isEqualTo(grandchild);
+
+        index.onMinistrySaved(grandchild, "Choir");
+        assertThat(index.get("a1").orElseThrow().ministryName()).isEqualTo("Choir");
+    }
+
+    @Test
+    void toMapAllowsAnAssignmentWithoutRole() {
+        assign(child, "a1", null, false);
+        index.reload();
+
+        Map<String, Object> map = index.get("a1").orElseThrow().toMap();
+
+        assertThat(map).containsEntry("memberId", "a1").containsEntry("role", null)
+                .containsEntry("ministryId", child).containsEntry("ministryName", "Youth");
+    }
+
+    @Test
+    void reloadsRacingRefreshesNeverPublishAnOlderState() {
+        index.reload();
+        CompletableFuture<Void> reloads = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 30; i++) index.reload();
+        });
+        for (int i = 0; i < 60; i++) {
+            String memberId = "m" + i;
+            assign(i % 2 == 0 ? root : grandchild, memberId, "MEMBER", false);
+            index.refreshMembers(List.of(memberId));
+        }
+        reloads.join();
+
+        for (int i = 0; i < 60; i++) {
+            assertThat(index.get("m" + i)).as("m" + i).get()
+                    .extracting(HighestRoleIndex.HighestRole::ministryId).isEqualTo(i % 2 == 0 ? root : grandchild);
+        }
+    }
+
+    private UUID ministry(String name, UUID parent) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO ministries (id, name, parent_id) VALUES (:id, :name, :parent)",
+                new MapSqlParameterSource().addValue("id", id).addValue("name", name).addValue("parent", parent));
+        return id;
+    }
+
+    private void assign(UUID ministryId, String memberId, String role, boolean committee) {
+        jdbc.update("""
+                INSERT INTO ministry_members (id, ministry_id, member_id, role, committee)
+                VALUES (:id, :ministryId, :memberId, :role, :committee)
+                """, new MapSqlParameterSource().addValue("id", UUID.randomUUID()).addValue("ministryId", ministryId)
+                .addValue("memberId", memberId).addValue("role", role).addValue("committee", committee));
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinistryDatasetVersionTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final TransactionTemplate transactionTemplate = TestDatabase.transactionTemplate();
+    // two instances of the service on one database
+    private final MinistryDatasetVersion writer = new MinistryDatasetVersion(jdbc);
+    private final MinistryDatasetVersion other = new MinistryDatasetVersion(jdbc);
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void aWriteIsSeenLocallyOnCommitAndElsewhereOnTheNextPoll() {
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.ministriesChanged();
+            writer.ministriesChanged();
+            assertThat(writer.ministries()).isZero();
+        });
+
+        assertThat(writer.ministries()).isEqualTo(1); // one bump per transaction
+        assertThat(other.ministries()).isZero();
+        other.poll();
+        assertThat(other.ministries()).isEqualTo(1);
+
+        writer.membersChanged();
+        other.poll();
+        assertThat(other.members()).isEqualTo(1);
+    }
+
+    @Test
+    void aRolledBackWriteDoesNotMoveTheVersion() {
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.ministriesChanged();
+            status.setRollbackOnly();
+        });
+
+        writer.poll();
+        assertThat(writer.ministries()).isZero();
+    }
+}
@@ -0,0 +1,139 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.embeddable.MinistryMemberDto;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MinistryDetailsViewTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final TransactionTemplate tx = TestDatabase.transactionTemplate();
+    private final MemberServiceCache memberServiceCache = mock(MemberServiceCache.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Map<String, MemberDto> profiles = new ConcurrentHashMap<>();
+    private final UUID ministryId = UUID.randomUUID();
+    private MinistryDetailsView view;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        view = new MinistryDetailsView(jdbc, new MinistryReadJdbcService(jdbc), memberServiceCache, objectMapper,
+                TestDatabase.transactionManager(), Duration.ofHours(1), true);
+        when(memberServiceCache.getMembersByIds(anySet())).thenAnswer(invocation -> {
+            Set<String> ids = invocation.getArgument(0);
+            return ids.stream().map(profiles::get).filter(Objects::nonNull).toList();
+        });
+        jdbc.update("INSERT INTO ministries (id, name) VALUES (:id, 'Choir')", Map.of("id", ministryId));
+        assign("a1", "DEACON", true);
+        assign("a2", "MEMBER", false);
+        profile("a1", "Ann");
+        profile("a2", "Bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        view.shutdown();
+    }
+
+    @Test
+    void refreshStoresTheAssembledMembersBlock() {
+        view.refresh(List.of(ministryId));
+
+        MinistryMemberDto members = view.find(List.of(ministryId)).get(ministryId);
+        assertThat(members.getLeader().getId()).isEqualTo("a1");
+        assertThat(members.getCommittee()).extracting(MemberDto::getName).containsExactly("Ann");
+        assertThat(members.getUnit()).extracting(MemberDto::getName).containsExactly("Bob");
+    }
+
+    @Test
+    void rowsWithUnresolvedMembersAreNotServedAndGetRepaired() {
+        profiles.remove("a2");
+        view.refresh(List.of(ministryId));
+        assertThat(view.find(List.of(ministryId))).isEmpty();
+
+        profile("a2", "Bob");
+        view.repair();
+        assertThat(view.find(List.of(ministryId)).get(ministryId).getUnit()).extracting(MemberDto::getName)
+                .containsExactly("Bob");
+    }
+
+    @Test
+    void repairRebuildsRowsOlderThanMaxAge() {
+        view.refresh(List.of(ministryId));
+        profile("a2", "Robert"); // changed without a member event
+
+        view.repair();
+        assertThat(unitNames()).containsExactly("Bob");
+
+        jdbc.update("UPDATE ministry_details_view SET refreshed_at = now() - interval '2 hours'", Map.of());
+        view.repair();
+        assertThat(unitNames()).containsExactly("Robert");
+    }
+
+    @Test
+    void invalidateDropsTheRowWithTheWriteAndRefreshLaterRebuildsIt() throws InterruptedException {
+        view.refresh(List.of(ministryId));
+
+        tx.executeWithoutResult(status -> {
+            view.invalidate(List.of(ministryId));
+            status.setRollbackOnly();
+        });
+        assertThat(view.find(List.of(ministryId))).containsKey(ministryId);
+
+        tx.executeWithoutResult(status -> {
+            assign("a3", "MEMBER", false);
+            view.invalidate(List.of(ministryId));
+        });
+        assertThat(view.find(List.of(ministryId))).isEmpty();
+
+        profile("a3", "Cid");
+        view.refreshLater(List.of(ministryId));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (view.find(List.of(ministryId)).isEmpty() && System.nanoTime() < deadline) Thread.sleep(20);
+        assertThat(unitNames()).containsExactlyInAnyOrder("Bob", "Cid");
+    }
+
+    @Test
+    void aRebuildFromAnOlderReadNeverOverwritesANewerRow() {
+        view.refresh(List.of(ministryId));
+        jdbc.update("UPDATE ministry_details_view SET refreshed_at = now() + interval '1 minute'", Map.of());
+        profile("a2", "Robert");
+
+        view.refresh(List.of(ministryId));
+
+        assertThat(unitNames()).containsExactly("Bob");
+    }
+
+    private List<String> unitNames() {
+        return view.find(List.of(ministryId)).get(ministryId).getUnit().stream().map(MemberDto::getName).toList();
+    }
+
+    private void assign(String memberId, String role, boolean committee) {
+        jdbc.update("""
+                INSERT INTO ministry_members (id, ministry_id, member_id, role, committee)
+                VALUES (:id, :ministryId, :memberId, :role, :committee)
+                """, Map.of("id", UUID.randomUUID(), "ministryId", ministryId, "memberId", memberId,
+                "role", role, "committee", committee));
+    }
+
+    private void profile(String id, String name) {
+        profiles.put(id, MemberDto.builder().id(id).name(name).build());
+    }
+}
@@ -0,0 +1,147 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.client.MemberServiceFeignClient;
+import com.project.ministry_service.common.util.CriteriaJson;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.domain.model.embeddable.Criteria;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MinistryEligibilityEngineTest {
+
+    private static final String[] GENDERS = {"MALE", "FEMALE", null};
+    private static final String[] MARITAL_STATUSES = {"SINGLE", "MARRIED", "WIDOWED", null};
+    private static final String[] CRITERIA_GENDERS = {"MALE", "female", "ALL", null, "OTHER"};
+    private static final String[] AGE_GROUPS = {"KID", "ADULT", "ALL", null};
+    private static final String[] CRITERIA_MARITAL_STATUSES = {"SINGLE", "married", "ALL", null};
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final MemberServiceFeignClient feignClient = mock(MemberServiceFeignClient.class);
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final Random random = new Random(7);
+    private final List<MemberDto> members = new ArrayList<>();
+    private final Map<UUID, Criteria> criteria = new HashMap<>();
+    private MemberAttributeIndex memberAttributeIndex;
+    private MinistryEligibilityEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 2_000; i++) {
+            members.add(MemberDto.builder()
+                    .id("m" + i)
+                    .gender(GENDERS[random.nextInt(GENDERS.length)])
+                    .maritalStatus(MARITAL_STATUSES[random.nextInt(MARITAL_STATUSES.length)])
+                    .birthDate(random.nextInt(10) == 0 ? null : today.minusDays(random.nextInt(40 * 365)))
+                    .build());
+        }
+        for (String gender : CRITERIA_GENDERS) {
+            for (String ageGroup : AGE_GROUPS) {
+                for (String maritalStatus : CRITERIA_MARITAL_STATUSES) {
+                    Criteria c = new Criteria();
+                    c.setGender(gender);
+                    c.setAgeGroup(ageGroup);
+                    c.setMaritalStatus(maritalStatus);
+                    UUID id = UUID.randomUUID();
+                    criteria.put(id, c);
+                    jdbc.update("INSERT INTO ministries (id, name, criteria) VALUES (:id, :name, CAST(:criteria AS jsonb))",
+                            Map.of("id", id, "name", "ministry-" + id, "criteria", CriteriaJson.toJson(c)));
+                }
+            }
+        }
+        UUID unrestricted = UUID.randomUUID();
+        criteria.put(unrestricted, null);
+        jdbc.update("INSERT INTO ministries (id, name) VALUES (:id, 'unrestricted')", Map.of("id", unrestricted));
+
+        // member-service's search format
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        for (MemberDto member : members) {
+            Map<String, Object> personalInfo = new HashMap<>();
+            personalInfo.put("firstName", "First");
+            personalInfo.put("lastName", member.getId());
+            personalInfo.put("gender", member.getGender());
+            personalInfo.put("maritalStatus", member.getMaritalStatus());
+            personalInfo.put("birthdate", member.getBirthDate() != null ? member.getBirthDate().toString() : null);
+            snapshot.add(Map.of("id", member.getId(), "personalInfo", personalInfo));
+        }
+        when(feignClient.getAllMembers(anyString(), anyString(), anyString())).thenReturn(snapshot);
+        memberAttributeIndex = new MemberAttributeIndex(feignClient, mock(MemberServiceCache.class), objectMapper, true);
+        engine = new MinistryEligibilityEngine(jdbc, memberAttributeIndex, new MinistryDatasetVersion(jdbc));
+    }
+
+    @Test
+    void notReadyUntilTheReplicaLoads() {
+        assertThat(engine.isReady()).isFalse();
+        memberAttributeIndex.resync();
+        assertThat(engine.isReady()).isTrue();
+    }
+
+    @Test
+    void bitmapEvaluationMatchesANaiveFilter() {
+        memberAttributeIndex.resync();
+
+        Map<UUID, Integer> counts = engine.eligibleCounts();
+
+        assertThat(counts).hasSize(criteria.size());
+        criteria.forEach((ministryId, c) -> {
+            List<String> expected = members.stream().filter(m -> matches(c, m)).map(MemberDto::getId).toList();
+            assertThat(counts.get(ministryId)).as("count for %s", c).isEqualTo(expected.size());
+            assertThat(engine.eligibleMemberIds(ministryId)).as("members for %s", c)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        });
+        for (MemberDto member : members.subList(0, 50)) {
+            List<UUID> expected = criteria.entrySet().stream()
+                    .filter(e -> matches(e.getValue(), member)).map(Map.Entry::getKey).toList();
+            assertThat(engine.ministriesEligibleFor(member.getId())).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void memberEventsAreReflectedInTheNextEvaluation() {
+        memberAttributeIndex.resync();
+        UUID marriedMen = criteria.entrySet().stream()
+                .filter(e -> e.getValue() != null && "MALE".equals(e.getValue().getGender())
+                        && e.getValue().getAgeGroup() == null && "married".equals(e.getValue().getMaritalStatus()))
+                .map(Map.Entry::getKey).findFirst().orElseThrow();
+        int before = engine.eligibleCounts().get(marriedMen);
+
+        memberAttributeIndex.apply(List.of(MemberDto.builder().id("new").gender("male").maritalStatus("MARRIED").build()),
+                List.of());
+
+        assertThat(engine.eligibleCounts().get(marriedMen)).isEqualTo(before + 1);
+        assertThat(engine.eligibleMemberIds(marriedMen)).contains("new");
+    }
+
+    // the documented semantics, member by member: ALL / unset keeps everyone, values compare
+    // case-insensitively, KID < 12 <= ADULT and an unknown attribute never matches a restriction
+    private static boolean matches(Criteria c, MemberDto m) {
+        if (c == null) return true;
+        return matches(c.getGender(), m.getGender())
+                && matches(c.getMaritalStatus(), m.getMaritalStatus())
+                && matches(c.getAgeGroup(), ageGroup(m.getBirthDate()));
+    }
+
+    private static boolean matches(String criteria, String value) {
+        if (criteria == null || criteria.equalsIgnoreCase("ALL")) return true;
+        return value != null && value.equalsIgnoreCase(criteria);
+    }
+
+    private static String ageGroup(LocalDate birthDate) {
+        if (birthDate == null) return null;
+        return birthDate.isAfter(LocalDate.now().minusYears(12)) ? "KID" : "ADULT";
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinistryHierarchyIndexTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final MinistryHierarchyIndex index = new MinistryHierarchyIndex(jdbc);
+    // the reference model: child -> parent, as stored in ministries.parent_id
+    private final Map<UUID, UUID> parents = new LinkedHashMap<>();
+    private final Random random = new Random(11);
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void incrementalAddsAndMovesMatchTheParentMap() {
+        index.reload();
+        List<UUID> nodes = new ArrayList<>();
+        for (int step = 0; step < 600; step++) {
+            if (nodes.size() < 5 || random.nextInt(3) > 0) {
+                UUID id = UUID.randomUUID();
+                UUID parent = nodes.isEmpty() || random.nextInt(10) == 0 ? null : nodes.get(random.nextInt(nodes.size()));
+                parents.put(id, parent);
+                nodes.add(id);
+                index.addNode(id, parent);
+            } else {
+                UUID moved = nodes.get(random.nextInt(nodes.size()));
+                UUID newParent = random.nextInt(10) == 0 ? null : nodes.get(random.nextInt(nodes.size()));
+                if (newParent != null && ancestors(newParent).contains(moved)) continue; // rejected before commit
+                parents.put(moved, newParent);
+                index.move(moved, newParent);
+            }
+            if (step % 50 == 0) assertMatchesModel();
+        }
+        assertMatchesModel();
+    }
+
+    @Test
+    void reloadReadsTheTreeFromTheDatabase() {
+        UUID root = insert(null);
+        UUID child = insert(root);
+        UUID grandchild = insert(child);
+
+        index.reload();
+
+        assertMatchesModel();
+        assertThat(index.subtree(root)).containsExactly(root, child, grandchild);
+    }
+
+    @Test
+    void addNodeUnderAnUnknownParentReloadsInsteadOfCreatingARoot() {
+        index.reload();
+        UUID missed = insert(null); // committed, but its hook never reached the index
+        UUID child = insert(missed);
+
+        index.addNode(child, missed);
+
+        assertMatchesModel();
+        assertThat(index.parent(child)).isEqualTo(missed);
+        assertThat(index.depth(child)).isEqualTo(1);
+    }
+
+    @Test
+    void aMoveTheIndexCannotApplyReloadsInsteadOfThrowing() {
+        UUID root = insert(null);
+        UUID child = insert(root);
+        index.reload();
+
+        // the index missed that child became a root and root moved under it
+        jdbc.update("UPDATE ministries SET parent_id = NULL WHERE id = :id", Map.of("id", child));
+        jdbc.update("UPDATE ministries SET parent_id = :child WHERE id = :id", Map.of("child", child, "id", root));
+        parents.put(child, null);
+        parents.put(root, child);
+
+        index.move(root, child);
+
+        assertMatchesModel();
+        assertThat(index.isAncestor(child, root)).isTrue();
+    }
+
+    private UUID insert(UUID parent) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO ministries (id, name, parent_id) VALUES (:id, :name, :parent)",
+                new MapSqlParameterSource()
+                        .addValue("id", id).addValue("name", id.toString()).addValue("parent", parent));
+        parents.put(id, parent);
+        return id;
+    }
+
+    private List<UUID> ancestors(UUID id) {
+        List<UUID> result = new ArrayList<>();
+        for (UUID n = id; n != null; n = parents.get(n)) result.add(n);
+        return result;
+    }
+
+    private void assertMatchesModel() {
+        assertThat(index.size()).isEqualTo(parents.size());
+        Map<UUID, Set<UUID>> subtrees = new HashMap<>();
+        for (UUID id : parents.keySet()) {
+            for (UUID a : ancestors(id)) subtrees.computeIfAbsent(a, k -> new HashSet<>()).add(id);
+        }
+        for (UUID id : parents.keySet()) {
+            List<UUID> ancestors = ancestors(id);
+            assertThat(index.parent(id)).isEqualTo(parents.get(id));
+            assertThat(index.depth(id)).isEqualTo(ancestors.size() - 1);
+            assertThat(index.ancestors(id)).isEqualTo(ancestors);
+            List<UUID> subtree = index.subtree(id);
+            assertThat(subtree.get(0)).isEqualTo(id);
+            assertThat(subtree).containsExactlyInAnyOrderElementsOf(subtrees.get(id));
+            // pre-order: every node comes after its parent
+            for (int i = 1; i < subtree.size(); i++) {
+                assertThat(subtree.subList(0, i)).contains(parents.get(subtree.get(i)));
+            }
+        }
+        UUID any = parents.keySet().iterator().next();
+        for (UUID other : parents.keySet()) {
+            assertThat(index.isAncestor(any, other)).isEqualTo(ancestors(other).contains(any));
+            assertThat(index.isAncestor(other, any)).isEqualTo(ancestors(any).contains(other));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.ministry_service.messaging.MinistryEventOutbox;
+import com.project.ministry_service.ministry.api.dto.MinistryImportResult;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinistryImportServiceTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final TransactionTemplate transactionTemplate = TestDatabase.transactionTemplate();
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final MinistryHierarchyIndex hierarchyIndex = new MinistryHierarchyIndex(jdbc);
+    private final MinistryImportService service = new MinistryImportService(jdbc, objectMapper, hierarchyIndex,
+            new HighestRoleIndex(jdbc, hierarchyIndex), new MinistryDatasetVersion(jdbc), new MinistryEventOutbox(jdbc, objectMapper));
+    private UUID church;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        church = UUID.randomUUID();
+        jdbc.update("INSERT INTO ministries (id, name) VALUES (:id, 'Church')", Map.of("id", church));
+        jdbc.update("INSERT INTO ministry_hierarchy (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)", Map.of("id", church));
+        hierarchyIndex.reload();
+    }
+
+    @Test
+    void ndjsonImportBuildsTheClosureInOnePass() {
+        // children before their parents: parents resolve by name within the import
+        MinistryImportResult result = importNdjson(
+                "{\"name\":\"Youth Choir\",\"parent\":\"Youth\",\"members\":[{\"id\":\"a1\",\"role\":\"DEACON\",\"committee\":true}]}",
+                "{\"name\":\"Youth\",\"direction\":\"" + church + "\",\"type\":\"DEPARTMENT\",\"members\":[{\"id\":\"a1\"},{\"id\":\"a2\"},{\"id\":\"a2\",\"role\":\"SECRETARY\"}]}",
+                "{\"name\":\"Men\",\"parent\":\"Church\",\"establishedDate\":\"2020-05-01\"}",
+                "{\"name\":\"Outreach\"}");
+
+        assertThat(result.getMinistries()).isEqualTo(4);
+        assertThat(result.getAssignments()).isEqualTo(3); // a2's last entry wins
+        // Youth Choir: self, Youth, Church; Youth: self, Church; Men: self, Church; Outreach: self
+        assertThat(result.getHierarchyRows()).isEqualTo(8);
+        assertThat(closure()).isEqualTo(expectedClosure());
+        assertThat(jdbc.queryForObject("SELECT role FROM ministry_members WHERE member_id = 'a2'", Map.of(), String.class))
+                .isEqualTo("SECRETARY");
+
+        UUID choir = id("Youth Choir");
+        assertThat(hierarchyIndex.depth(choir)).isEqualTo(2);
+        assertThat(hierarchyIndex.subtree(church)).contains(id("Youth"), choir, id("Men")).doesNotContain(id("Outreach"));
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM ministry_outbox", Map.of(), Integer.class)).isPositive();
+    }
+
+    @Test
+    void csvImportParsesQuotedFieldsAndMemberLists() {
+        MinistryImportResult result = importCsv(
+                "name,type,parent,gender,members",
+                "\"Choir, Senior\",GROUP,Church,FEMALE,a1:SECRETARY:true;a2",
+                "\"He said \"\"hi\"\"\",,\"Choir, Senior\",,");
+
+        assertThat(result.getMinistries()).isEqualTo(2);
+        assertThat(result.getAssignments()).isEqualTo(2);
+        assertThat(closure()).isEqualTo(expectedClosure());
+        assertThat(jdbc.queryForObject("SELECT criteria->>'gender' FROM ministries WHERE name = 'Choir, Senior'", Map.of(), String.class))
+                .isEqualTo("FEMALE");
+        assertThat(hierarchyIndex.parent(id("He said \"hi\""))).isEqualTo(id("Choir, Senior"));
+    }
+
+    @Test
+    void invalidImportsAreRejectedAsAWhole() {
+        assertRejected("duplicate name in import: A", "{\"name\":\"A\"}", "{\"name\":\"A\"}");
+        assertRejected("ministry already exists: Church", "{\"name\":\"Church\"}");
+        assertRejected("unknown parent Nowhere", "{\"name\":\"A\"}", "{\"name\":\"B\",\"parent\":\"Nowhere\"}");
+        assertRejected("unknown parent id", "{\"name\":\"A\",\"direction\":\"" + UUID.randomUUID() + "\"}");
+        assertRejected("parent cycle through", "{\"name\":\"A\",\"parent\":\"B\"}", "{\"name\":\"B\",\"parent\":\"A\"}", "{\"name\":\"C\"}");
+        assertRejected("name is required", "{\"type\":\"GROUP\"}");
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM ministries", Map.of(), Integer.class)).isEqualTo(1);
+        assertThat(closure()).isEqualTo(expectedClosure());
+    }
+
+    private MinistryImportResult importNdjson(String... lines) {
+        return importLines(MinistryImportService.Format.NDJSON, lines);
+    }
+
+    private MinistryImportResult importCsv(String... lines) {
+        return importLines(MinistryImportService.Format.CSV, lines);
+    }
+
+    private MinistryImportResult importLines(MinistryImportService.Format format, String... lines) {
+        byte[] input = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return transactionTemplate.execute(status -> service.importMinistries(new ByteArrayInputStream(input), format));
+    }
+
+    private void assertRejected(String message, String... lines) {
+        assertThatThrownBy(() -> importNdjson(lines)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining(message);
+    }
+
+    private UUID id(String name) {
+        return jdbc.queryForObject("SELECT id FROM ministries WHERE name = :name", Map.of("name", name), UUID.class);
+    }
+
+    private Set<List<Object>> closure() {
+        return new HashSet<>(jdbc.query("SELECT ancestor_id, descendant_id, depth FROM ministry_hierarchy", Map.of(),
+                (rs, i) -> List.of(rs.getObject(1), rs.getObject(2), rs.getInt(3))));
+    }
+
+    // the closure walked node by node from ministries.parent_id
+    private Set<List<Object>> expectedClosure() {
+        return new HashSet<>(jdbc.query("""
+                WITH RECURSIVE up AS (
+                    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth, parent_id FROM ministries
+                    UNION ALL
+                    SELECT m.id, up.descendant_id, up.depth + 1, m.parent_id FROM up JOIN ministries m ON m.id = up.parent_id
+                )
+                SELECT ancestor_id, descendant_id, depth FROM up
+                """, Map.of(), (rs, i) -> List.of(rs.getObject(1), rs.getObject(2), rs.getInt(3))));
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.ministry.api.dto.MemberAssignmentDto;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinistryMemberJdbcServiceTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final MinistryMemberJdbcService service = new MinistryMemberJdbcService(jdbc);
+    private UUID ministry;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        ministry = UUID.randomUUID();
+        jdbc.update("INSERT INTO ministries (id, name) VALUES (:id, 'Choir')", Map.of("id", ministry));
+    }
+
+    @Test
+    void upsertCountsInsertedAndUpdatedRows() {
+        assertThat(service.upsertAssignments(ministry, List.of(assignment("a1", null, false), assignment("a2", RoleName.DEACON, true))))
+                .isEqualTo(new MinistryMemberJdbcService.UpsertResult(2, 0));
+
+        // a1 again (twice in the list: the last one wins and counts once), a3 new
+        assertThat(service.upsertAssignments(ministry, List.of(
+                assignment("a1", RoleName.SECRETARY, false), assignment("a3", null, false), assignment("a1", RoleName.TREASURER, true))))
+                .isEqualTo(new MinistryMemberJdbcService.UpsertResult(1, 1));
+
+        assertThat(service.upsertAssignments(ministry, List.of())).isEqualTo(new MinistryMemberJdbcService.UpsertResult(0, 0));
+        assertThat(jdbc.queryForMap("SELECT role, committee FROM ministry_members WHERE member_id = 'a1'", Map.of()))
+                .containsEntry("role", "TREASURER").containsEntry("committee", true);
+        assertThat(jdbc.queryForObject("SELECT role FROM ministry_members WHERE member_id = 'a3'", Map.of(), String.class))
+                .isEqualTo("MEMBER");
+    }
+
+    private static MemberAssignmentDto assignment(String memberId, RoleName role, boolean committee) {
+        MemberAssignmentDto dto = new MemberAssignmentDto();
+        dto.setMemberId(memberId);
+        dto.setRole(role);
+        dto.setCommittee(committee);
+        return dto;
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.ministry_service.ministry.application;
+
+import com.project.ministry_service.common.enums.MinistryType;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinistryReadJdbcServiceTest {
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final MinistryReadJdbcService service = new MinistryReadJdbcService(jdbc);
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        Random random = new Random(17);
+        MinistryType[] types = MinistryType.values();
+        for (int i = 0; i < 40; i++) {
+            // few distinct values (and nulls), so most pages end inside a run of equal sort values
+            jdbc.update("""
+                    INSERT INTO ministries (id, name, type, established_date, term_start, term_end)
+                    VALUES (:id, :name, :type, :established, :termStart, :termEnd)
+                    """, new MapSqlParameterSource()
+                    .addValue("id", UUID.randomUUID())
+                    .addValue("name", "Ministry " + random.nextInt(1000) + "-" + i)
+                    .addValue("type", random.nextInt(4) == 0 ? null : types[random.nextInt(types.length)].name())
+                    .addValue("established", date(random))
+                    .addValue("termStart", date(random))
+                    .addValue("termEnd", date(random)));
+        }
+    }
+
+    @Test
+    void keysetPagesMatchTheFullListingForEverySort() {
+        for (String key : MinistryQuery.SORT_KEYS) {
+            for (String sort : List.of(key, "-" + key)) {
+                MinistryQuery query = query(sort);
+                List<String> all = ids(service.findAll(query));
+                assertThat(all).as(sort).hasSize(40);
+                assertThat(pageThrough(query, 3)).as(sort).isEqualTo(all);
+            }
+        }
+    }
+
+    @Test
+    void pagingContinuesWhenTheCursorRowIsDeleted() {
+        for (String sort : List.of("name", "-termStart", "type", "id")) {
+            MinistryQuery query = query(sort);
+            List<String> all = ids(service.findAll(query));
+            List<MinistryDto> first = service.findPageAfter(query, null, 5);
+            String cursor = service.cursorAfter(query, first.get(4));
+
+            jdbc.update("DELETE FROM ministries WHERE id = CAST(:id AS uuid)", Map.of("id", first.get(4).getId()));
+            assertThat(ids(service.findPageAfter(query, cursor, 5))).as(sort).isEqualTo(all.subList(5, 10));
+            setUp();
+        }
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherSortOrMalformed() {
+        MinistryDto first = service.findPageAfter(query("name"), null, 1).get(0);
+        String nameCursor = service.cursorAfter(query("name"), first);
+
+        assertThatThrownBy(() -> service.findPageAfter(query("id"), nameCursor, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findPageAfter(query("name"), first.getId(), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findPageAfter(query("name"), "nope.!!", 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<String> pageThrough(MinistryQuery query, int size) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        List<MinistryDto> page;
+        do {
+            page = service.findPageAfter(query, cursor, size);
+            ids.addAll(ids(page));
+            if (!page.isEmpty()) cursor = service.cursorAfter(query, page.get(page.size() - 1));
+        } while (page.size() == size);
+        return ids;
+    }
+
+    private static MinistryQuery query(String sort) {
+        MinistryQuery query = new MinistryQuery();
+        query.setSort(sort);
+        return query;
+    }
+
+    private static LocalDate date(Random random) {
+        return random.nextInt(3) == 0 ? null : LocalDate.of(2020, 1, 1).plusDays(random.nextInt(4));
+    }
+
+    private static List<String> ids(List<MinistryDto> ministries) {
+        return ministries.stream().map(MinistryDto::getId).toList();
+    }
+}
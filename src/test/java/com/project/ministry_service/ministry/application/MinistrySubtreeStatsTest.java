@@ -0,0 +1,162 @@
+package com.project.ministry_service.ministry.application;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.client.MemberServiceFeignClient;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.MinistryStatsDto;
+import com.project.ministry_service.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MinistrySubtreeStatsTest {
+
+    private static final String[] GENDERS = {"MALE", "FEMALE", null};
+    private static final String[] ROLES = {"MEMBER", "DEACON", "SECRETARY"};
+
+    private final NamedParameterJdbcTemplate jdbc = spy(TestDatabase.jdbc());
+    private final MemberServiceFeignClient feignClient = mock(MemberServiceFeignClient.class);
+    private final MinistryDatasetVersion datasetVersion = new MinistryDatasetVersion(TestDatabase.jdbc());
+    private final Random random = new Random(11);
+    // model: ministry -> parent, member -> gender (absent: not replicated), ministry -> member -> (role, committee)
+    private final Map<UUID, UUID> parents = new LinkedHashMap<>();
+    private final Map<String, String> genders = new HashMap<>();
+    private final Map<UUID, Map<String, Object[]>> assignments = new HashMap<>();
+    private MemberAttributeIndex replica;
+    private MinistrySubtreeStats stats;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            UUID id = UUID.randomUUID();
+            UUID parent = i < 2 ? null : ids.get(random.nextInt(ids.size()));
+            jdbc.update("INSERT INTO ministries (id, name, parent_id) VALUES (:id, :name, :parent)",
+                    new MapSqlParameterSource().addValue("id", id).addValue("name", "ministry " + i).addValue("parent", parent));
+            parents.put(id, parent);
+            ids.add(id);
+        }
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String memberId = "m" + i;
+            String gender = GENDERS[random.nextInt(GENDERS.length)];
+            genders.put(memberId, gender);
+            Map<String, Object> personalInfo = new HashMap<>();
+            personalInfo.put("firstName", "First");
+            personalInfo.put("lastName", memberId);
+            personalInfo.put("gender", gender);
+            snapshot.add(Map.of("id", memberId, "personalInfo", personalInfo));
+            for (int k = random.nextInt(3); k > 0; k--) {
+                assign(ids.get(random.nextInt(ids.size())), memberId, ROLES[random.nextInt(ROLES.length)], random.nextInt(5) == 0);
+            }
+        }
+        when(feignClient.getAllMembers(anyString(), anyString(), anyString())).thenReturn(snapshot);
+        replica = new MemberAttributeIndex(feignClient, mock(MemberServiceCache.class), JsonMapper.builder().findAndAddModules().build(), true);
+        stats = new MinistrySubtreeStats(jdbc, replica, datasetVersion);
+    }
+
+    @Test
+    void gendersAreLeftOutUntilTheReplicaLoads() {
+        assertThat(stats.all()).allSatisfy(s -> assertThat(s.getGenders()).isNull());
+
+        replica.resync();
+        assertMatchesModel(stats.all());
+    }
+
+    @Test
+    void memberEventsRecountWithoutReloadingTheTree() {
+        replica.resync();
+        assertMatchesModel(stats.all());
+        clearInvocations(jdbc);
+
+        for (int round = 0; round < 5; round++) {
+            Map<String, MemberDto> upserts = new HashMap<>();
+            Set<String> removals = new HashSet<>();
+            for (int k = 0; k < 10; k++) {
+                String memberId = "m" + random.nextInt(220); // some members are new to the replica
+                if (upserts.containsKey(memberId) || removals.contains(memberId)) continue;
+                if (random.nextInt(4) == 0) {
+                    removals.add(memberId);
+                    genders.remove(memberId);
+                } else {
+                    String gender = GENDERS[random.nextInt(GENDERS.length)];
+                    upserts.put(memberId, MemberDto.builder().id(memberId).gender(gender).build());
+                    genders.put(memberId, gender);
+                }
+            }
+            replica.apply(upserts.values(), removals);
+            assertMatchesModel(stats.all());
+        }
+        verify(jdbc, never()).getJdbcOperations();
+
+        // an assignment write reloads the tree
+        UUID ministry = parents.keySet().iterator().next();
+        assign(ministry, "m500", "DEACON", true);
+        datasetVersion.ministriesChanged();
+        assertMatchesModel(stats.all());
+    }
+
+    @Test
+    void unchangedGendersKeepTheSameStats() {
+        replica.resync();
+        List<MinistryStatsDto> before = stats.all();
+
+        replica.apply(List.of(MemberDto.builder().id("m0").gender(genders.get("m0")).build()), List.of());
+
+        assertThat(stats.all()).isSameAs(before);
+    }
+
+    private void assign(UUID ministryId, String memberId, String role, boolean committee) {
+        if (assignments.computeIfAbsent(ministryId, k -> new HashMap<>()).putIfAbsent(memberId, new Object[]{role, committee}) != null) {
+            return;
+        }
+        jdbc.update("""
+                INSERT INTO ministry_members (id, ministry_id, member_id, role, committee)
+                VALUES (:id, :ministryId, :memberId, :role, :committee)
+                """, new MapSqlParameterSource().addValue("id", UUID.randomUUID()).addValue("ministryId", ministryId)
+                .addValue("memberId", memberId).addValue("role", role).addValue("committee", committee));
+    }
+
+    private void assertMatchesModel(List<MinistryStatsDto> actual) {
+        assertThat(actual).hasSize(parents.size());
+        for (MinistryStatsDto s : actual) {
+            Set<String> members = new HashSet<>();
+            Set<String> committee = new HashSet<>();
+            Map<String, Set<String>> roles = new TreeMap<>();
+            parents.keySet().stream().filter(node -> inSubtree(node, s.getMinistryId())).forEach(node ->
+                    assignments.getOrDefault(node, Map.of()).forEach((memberId, assignment) -> {
+                        members.add(memberId);
+                        if ((Boolean) assignment[1]) committee.add(memberId);
+                        roles.computeIfAbsent((String) assignment[0], k -> new HashSet<>()).add(memberId);
+                    }));
+            Map<String, Integer> genderCounts = new TreeMap<>();
+            for (String memberId : members) {
+                String gender = genders.get(memberId);
+                genderCounts.merge(gender != null ? gender : "UNKNOWN", 1, Integer::sum);
+            }
+            Map<String, Integer> roleCounts = new TreeMap<>();
+            roles.forEach((role, holders) -> roleCounts.put(role, holders.size()));
+
+            assertThat(s.getMembers()).as("members of %s", s.getName()).isEqualTo(members.size());
+            assertThat(s.getCommittee()).as("committee of %s", s.getName()).isEqualTo(committee.size());
+            assertThat(s.getRoles()).as("roles of %s", s.getName()).isEqualTo(roleCounts);
+            assertThat(s.getGenders()).as("genders of %s", s.getName()).isEqualTo(genderCounts);
+        }
+    }
+
+    private boolean inSubtree(UUID node, UUID root) {
+        for (UUID at = node; at != null; at = parents.get(at)) {
+            if (at.equals(root)) return true;
+        }
+        return false;
+    }
+}
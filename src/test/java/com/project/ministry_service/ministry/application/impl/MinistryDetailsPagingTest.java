@@ -0,0 +1,133 @@
+package com.project.ministry_service.ministry.application.impl;
+
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryPageDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.ministry.application.MinistryDetailsView;
+import com.project.ministry_service.ministry.application.MinistryReadJdbcService;
+import com.project.ministry_service.ministry.application.ReadResult;
+import com.project.ministry_service.support.TestDatabase;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Keyset pages and the chunked NDJSON walk of /details against the database: every ministry
+ * comes out once, in sort order, and each chunk looks up only its own members.
+ */
+class MinistryDetailsPagingTest {
+
+    private static final int MINISTRIES = 7;
+
+    private final NamedParameterJdbcTemplate jdbc = TestDatabase.jdbc();
+    private final MemberServiceCache memberServiceCache = mock(MemberServiceCache.class);
+    private final MinistryDetailsView detailsView = mock(MinistryDetailsView.class);
+    private final List<Set<String>> lookups = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, String> memberOf = new HashMap<>();
+    private MinistryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        for (int i = 0; i < MINISTRIES; i++) {
+            UUID id = UUID.randomUUID();
+            jdbc.update("INSERT INTO ministries (id, name) VALUES (:id, :name)", Map.of("id", id, "name", "Ministry " + i));
+            for (int j = 0; j < 2; j++) {
+                String memberId = "m" + i + "-" + j;
+                memberOf.put(memberId, id.toString());
+                jdbc.update("""
+                        INSERT INTO ministry_members (id, ministry_id, member_id, role, committee)
+                        VALUES (:id, :ministryId, :memberId, 'MEMBER', false)
+                        """, new MapSqlParameterSource().addValue("id", UUID.randomUUID()).addValue("ministryId", id)
+                        .addValue("memberId", memberId));
+            }
+        }
+        // read model empty: every chunk is assembled live
+        when(detailsView.find(any())).thenReturn(Map.of());
+        when(memberServiceCache.getMembersByIdsAsync(any())).thenAnswer(invocation -> {
+            Set<String> ids = invocation.getArgument(0);
+            lookups.add(Set.copyOf(ids));
+            return CompletableFuture.completedFuture(ids.stream()
+                    .map(id -> MemberDto.builder().id(id).name("Name " + id).build()).toList());
+        });
+        service = new MinistryServiceImpl(null, null, memberServiceCache, Optional.empty(),
+                null, null, new MinistryReadJdbcService(jdbc), null, null, null, null, detailsView,
+                ObservationRegistry.NOOP, new SimpleMeterRegistry(), CircuitBreakerRegistry.ofDefaults(),
+                Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void pagesFollowTheCursorToTheEnd() {
+        for (String sort : List.of("id", "-name")) {
+            MinistryQuery query = new MinistryQuery();
+            query.setSort(sort);
+            List<String> expected = new MinistryReadJdbcService(jdbc).findAll(query).stream().map(MinistryDto::getId).toList();
+
+            List<String> paged = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                ReadResult<MinistryPageDto> page = service.getMinistriesDetailsPage(query, cursor, 3);
+                assertThat(page.complete()).isTrue();
+                assertThat(page.value().getItems()).hasSizeLessThanOrEqualTo(3);
+                page.value().getItems().forEach(this::assertOwnMembers);
+                page.value().getItems().forEach(dto -> paged.add(dto.getId()));
+                cursor = page.value().getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(paged).as(sort).isEqualTo(expected);
+            assertThat(pages).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void streamDeliversBoundedChunksWithTheirOwnMemberLookups() {
+        List<List<MinistryDto>> chunks = new ArrayList<>();
+        service.streamMinistriesDetails(new MinistryQuery(), 3, chunks::add);
+
+        assertThat(chunks).extracting(List::size).containsExactly(3, 3, 1);
+        List<String> streamed = chunks.stream().flatMap(List::stream).map(MinistryDto::getId).toList();
+        assertThat(streamed).isSorted().doesNotHaveDuplicates().hasSize(MINISTRIES);
+        chunks.stream().flatMap(List::stream).forEach(this::assertOwnMembers);
+        // one member-service lookup per chunk, for that chunk's members only
+        assertThat(lookups).extracting(Set::size).containsExactly(6, 6, 2);
+    }
+
+    @Test
+    void withoutMembersNoMemberLookupRuns() {
+        MinistryQuery query = new MinistryQuery();
+        query.setFields(Set.of("id", "info"));
+        List<MinistryDto> streamed = new ArrayList<>();
+        service.streamMinistriesDetails(query, 3, streamed::addAll);
+
+        assertThat(streamed).hasSize(MINISTRIES).allSatisfy(dto -> assertThat(dto.getMinistryMemberDto()).isNull());
+        assertThat(lookups).isEmpty();
+    }
+
+    private void assertOwnMembers(MinistryDto dto) {
+        assertThat(dto.getMinistryMemberDto().getUnit()).hasSize(2)
+                .allSatisfy(member -> assertThat(memberOf.get(member.getId())).isEqualTo(dto.getId()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.project.ministry_service.ministry.application.impl;
+
+import com.project.ministry_service.client.MemberServiceCache;
+import com.project.ministry_service.client.MemberServiceFeignClient;
+import com.project.ministry_service.common.enums.RoleName;
+import com.project.ministry_service.ministry.api.dto.MemberDto;
+import com.project.ministry_service.ministry.api.dto.MinistryDto;
+import com.project.ministry_service.ministry.api.dto.MinistryPageDto;
+import com.project.ministry_service.ministry.api.dto.MinistryQuery;
+import com.project.ministry_service.ministry.application.MinistryDetailsView;
+import com.project.ministry_service.ministry.application.MinistryEligibilityEngine;
+import com.project.ministry_service.ministry.application.MinistryReadJdbcService;
+import com.project.ministry_service.ministry.application.MinistryReadJdbcService.AssignmentRow;
+import com.project.ministry_service.ministry.application.ReadResult;
+import com.project.ministry_service.ministry.domain.repository.MinistryRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class MinistryServiceImplTest {
+
+    private final MinistryRepository ministryRepository = mock(MinistryRepository.class);
+    private final MemberServiceFeignClient feignClient = mock(MemberServiceFeignClient.class);
+    private final MemberServiceCache memberServiceCache = mock(MemberServiceCache.class);
+    private final MinistryEligibilityEngine eligibilityEngine = mock(MinistryEligibilityEngine.class);
+    private final MinistryReadJdbcService readService = mock(MinistryReadJdbcService.class);
+    private final MinistryDetailsView detailsView = mock(MinistryDetailsView.class);
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private MinistryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MinistryServiceImpl(ministryRepository, feignClient, memberServiceCache, Optional.empty(),
+                null, null, readService, null, null, eligibilityEngine, null, detailsView,
+                ObservationRegistry.NOOP, new SimpleMeterRegistry(), circuitBreakerRegistry,
+                Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void replicaPathListsEligibleMembersByIdWhileMemberServiceIsDown() {
+        UUID ministryId = UUID.randomUUID();
+        when(eligibilityEngine.isReady()).thenReturn(true);
+        when(eligibilityEngine.eligibleMemberIds(ministryId)).thenReturn(List.of("a1", "a2"));
+        when(memberServiceCache.getMembersByIds(any())).thenThrow(new IllegalStateException("member-service down"));
+        circuitBreakerRegistry.circuitBreaker("memberServiceClient").transitionToOpenState();
+
+        List<MemberDto> members = service.getPotentialMembers(ministryId);
+
+        assertThat(members).extracting(MemberDto::getId).containsExactly("a1", "a2");
+        assertThat(members).extracting(MemberDto::getName).containsOnlyNulls();
+        verifyNoInteractions(feignClient);
+    }
+
+    @Test
+    void replicaPathUsesCachedProfilesWhenAvailable() {
+        UUID ministryId = UUID.randomUUID();
+        when(eligibilityEngine.isReady()).thenReturn(true);
+        when(eligibilityEngine.eligibleMemberIds(ministryId)).thenReturn(List.of("a1", "a2"));
+        when(memberServiceCache.getMembersByIds(any()))
+                .thenReturn(List.of(MemberDto.builder().id("a2").name("Ann Two").build()));
+
+        List<MemberDto> members = service.getPotentialMembers(ministryId);
+
+        assertThat(members).extracting(MemberDto::getId).containsExactly("a1", "a2");
+        assertThat(members).extracting(MemberDto::getName).containsExactly(null, "Ann Two");
+    }
+
+    @Test
+    void unknownMinistryIsNotTurnedIntoAnEmptyList() {
+        UUID ministryId = UUID.randomUUID();
+        when(eligibilityEngine.isReady()).thenReturn(true);
+        when(eligibilityEngine.eligibleMemberIds(ministryId)).thenThrow(new NoSuchElementException("Ministry not found"));
+
+        assertThatThrownBy(() -> service.getPotentialMembers(ministryId)).isInstanceOf(NoSuchElementException.class);
+        when(eligibilityEngine.isReady()).thenReturn(false);
+        when(ministryRepository.findById(ministryId)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.getPotentialMembers(ministryId)).isInstanceOf(NoSuchElementException.class);
+        assertThat(circuitBreakerRegistry.circuitBreaker("memberServiceClient").getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void remoteSearchBeforeReplicaLoadsIsBehindTheBreaker() {
+        when(feignClient.getAllMembers(anyString(), anyString(), anyString())).thenThrow(new IllegalStateException("down"));
+
+        assertThat(service.getPotentialMembers("ALL", "ALL", "ALL")).isEmpty();
+        assertThat(circuitBreakerRegistry.circuitBreaker("memberServiceClient").getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+
+        circuitBreakerRegistry.circuitBreaker("memberServiceClient").transitionToOpenState();
+        assertThat(service.getPotentialMembers("ALL", "ALL", "ALL")).isEmpty();
+        verify(feignClient, times(1)).getAllMembers(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void detailsWithUnresolvedMembersAreMarkedIncomplete() {
+        UUID ministryId = UUID.randomUUID();
+        MinistryDto ministry = new MinistryDto();
+        ministry.setId(ministryId.toString());
+        when(readService.findPageAfter(any(), any(), anyInt())).thenReturn(List.of(ministry));
+        when(detailsView.find(any())).thenReturn(Map.of());
+        when(readService.findAssignments(any())).thenReturn(List.of(
+                new AssignmentRow(ministryId, "a1", RoleName.MEMBER, false),
+                new AssignmentRow(ministryId, "a2", RoleName.MEMBER, false)));
+        when(memberServiceCache.getMembersByIdsAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(MemberDto.builder().id("a1").build())));
+
+        ReadResult<MinistryPageDto> partial = service.getMinistriesDetailsPage(new MinistryQuery(), null, 10);
+
+        assertThat(partial.complete()).isFalse();
+        assertThat(partial.value().getItems().get(0).getMinistryMemberDto().getUnit())
+                .extracting(MemberDto::getId).containsExactly("a1");
+
+        when(memberServiceCache.getMembersByIdsAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("member-service down")));
+        assertThat(service.getMinistriesDetails(new MinistryQuery()).complete()).isFalse();
+
+        when(memberServiceCache.getMembersByIdsAsync(any())).thenReturn(CompletableFuture.completedFuture(
+                List.of(MemberDto.builder().id("a1").build(), MemberDto.builder().id("a2").build())));
+        assertThat(service.getMinistriesDetails(new MinistryQuery()).complete()).isTrue();
+    }
+
+    @Test
+    void concurrentDetailsReadsDoNotTimeOutOnSlowDatabaseStages() {
+        MinistryDto ministry = new MinistryDto();
+        ministry.setId(UUID.randomUUID().toString());
+        // slower than the 1s member-lookup timeout, which only bounds member-service
+        when(readService.findPageAfter(any(), any(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(1_200);
+            return List.of(ministry);
+        });
+        MinistryQuery query = new MinistryQuery();
+        query.setFields(Set.of("id", "info"));
+
+        List<CompletableFuture<ReadResult<List<MinistryDto>>>> reads = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> service.getMinistriesDetails(query)))
+                .toList();
+
+        assertThat(reads).allSatisfy(read -> assertThat(read.join().value()).containsExactly(ministry));
+    }
+}
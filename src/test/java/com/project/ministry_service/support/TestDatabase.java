@@ -0,0 +1,68 @@
+package com.project.ministry_service.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One embedded Postgres per test JVM with the Flyway migrations applied, for tests of the
+ * JDBC components. Tests start from {@link #reset()} rather than a fresh database.
+ */
+public final class TestDatabase {
+
+    private static DataSource dataSource;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException ignored) {
+                    }
+                }));
+                dataSource = postgres.getPostgresDatabase();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        }
+        return dataSource;
+    }
+
+    public static NamedParameterJdbcTemplate jdbc() {
+        return new NamedParameterJdbcTemplate(dataSource());
+    }
+
+    public static DataSourceTransactionManager transactionManager() {
+        return new DataSourceTransactionManager(dataSource());
+    }
+
+    public static TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager());
+    }
+
+    /** Empties every application table, keeping the dataset version row every write bumps. */
+    public static void reset() {
+        jdbc().getJdbcOperations().execute("""
+                DO $$
+                DECLARE t text;
+                BEGIN
+                    FOR t IN SELECT tablename FROM pg_tables
+                             WHERE schemaname = 'public' AND tablename <> 'flyway_schema_history' LOOP
+                        EXECUTE 'TRUNCATE TABLE ' || quote_ident(t) || ' CASCADE';
+                    END LOOP;
+                END $$""");
+        jdbc().getJdbcOperations().update("INSERT INTO ministry_dataset_version (id) VALUES (1)");
+    }
+}